@@ -0,0 +1,66 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xyz.magicjourney.odyssey.animation.Animation;
+import xyz.magicjourney.odyssey.animation.AnimationDirection;
+import xyz.magicjourney.odyssey.animation.SpriteSheet;
+
+/**
+ * Measures updating and drawing 1000 animations, which is expected not to allocate (check with {@code -prof gc}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class AnimationBenchmark {
+  private Animation[] animations;
+  private Graphics2D context;
+
+  @Setup
+  public void setup() {
+    SpriteSheet sheet = new SpriteSheet(new BufferedImage(32 * 8, 32 * 4, BufferedImage.TYPE_INT_ARGB_PRE), 32, 32, 50);
+
+    animations = new Animation[1000];
+    context = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB).createGraphics();
+
+    for (int i = 0; i < animations.length; i++) {
+      animations[i] = new Animation(sheet, (i * 37) % 1888, (i * 53) % 1048);
+      animations[i].play(i % 8, 31, AnimationDirection.values()[i % 4], 0);
+    }
+  }
+
+  @Benchmark
+  public int update() {
+    int frames = 0;
+
+    for (Animation animation : animations) {
+      animation.update(16);
+      frames += animation.getFrame();
+    }
+
+    return frames;
+  }
+
+  @Benchmark
+  public void draw() {
+    for (Animation animation : animations) {
+      animation.draw(context, null);
+    }
+  }
+}
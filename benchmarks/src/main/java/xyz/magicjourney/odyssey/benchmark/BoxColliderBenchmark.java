@@ -0,0 +1,61 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xyz.magicjourney.odyssey.collision.BoxCollider;
+import xyz.magicjourney.odyssey.math.Vector;
+
+/**
+ * Measures collision checks of {@link BoxCollider}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoxColliderBenchmark {
+  private BoxCollider box;
+  private BoxCollider overlapping;
+  private BoxCollider separated;
+  private Vector inside;
+
+  @Setup
+  public void setup() {
+    box = new BoxCollider(10, 10, 100, 50);
+    overlapping = new BoxCollider(60, 40, 100, 50);
+    separated = new BoxCollider(500, 500, 10, 10);
+    inside = new Vector(50, 30);
+  }
+
+  @Benchmark
+  public boolean collidesOverlapping() {
+    return box.collides(overlapping);
+  }
+
+  @Benchmark
+  public boolean collidesSeparated() {
+    return box.collides(separated);
+  }
+
+  @Benchmark
+  public boolean containsPointVector() {
+    return box.containsPoint(inside);
+  }
+
+  @Benchmark
+  public boolean containsPointCoordinates() {
+    return box.containsPoint(50, 30);
+  }
+}
@@ -0,0 +1,94 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xyz.magicjourney.odyssey.input.InputManager;
+import xyz.magicjourney.odyssey.renderer.Camera;
+import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.ScaledImageCache;
+
+/**
+ * Measures drawing the visible part of the {@link Camera} buffer on the canvas at different zoom levels,
+ * scaled every frame and copied from a {@link ScaledImageCache}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CameraBenchmark {
+  @Param({ "0.45", "1.0", "2.0" })
+  private float zoom;
+
+  private Canvas canvas;
+  private Camera camera;
+  private Camera cachedCamera;
+  private ScaledImageCache cache;
+  private BufferedImage target;
+  private Graphics2D context;
+
+  @Setup
+  public void setup() {
+    canvas = new Canvas(960, 540);
+    camera = new Camera(canvas, new InputManager(), 2048, 2048);
+    target = new BufferedImage(960, 540, BufferedImage.TYPE_INT_RGB);
+    context = target.createGraphics();
+
+    camera.render((graphic, c) -> graphic.fillRect(0, 0, 2048, 2048));
+    camera.setZoom(zoom);
+
+    cache = new ScaledImageCache(256L * 1024 * 1024);
+    cachedCamera = new Camera(canvas, new InputManager(), 2048, 2048);
+    cachedCamera.render((graphic, c) -> graphic.fillRect(0, 0, 2048, 2048));
+    cachedCamera.setZoom(zoom);
+    cachedCamera.setScaledImageCache(cache);
+
+    // The scaled copy is built in the background, wait until it's used.
+    for (int i = 0; i < 1000 && cache.getHits() == 0 && zoom != 1; i++) {
+      cachedCamera.draw(context, canvas);
+      sleep(10);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.dispose();
+    camera.dispose();
+    cachedCamera.dispose();
+    cache.dispose();
+  }
+
+  @Benchmark
+  public void draw() {
+    camera.draw(context, canvas);
+  }
+
+  @Benchmark
+  public void drawCached() {
+    cachedCamera.draw(context, canvas);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.DrawCommandBuffer;
+import xyz.magicjourney.odyssey.renderer.text.TextMetrics;
+import xyz.magicjourney.odyssey.ui.Text;
+
+/**
+ * Compares drawing texts with alternating fonts and colors immediately and through a {@link DrawCommandBuffer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class DrawCommandBufferBenchmark {
+  @Param({ "100", "1000" })
+  private int textCount;
+
+  private Canvas canvas;
+  private Graphics2D context;
+  private Text[] texts;
+  private DrawCommandBuffer commands;
+
+  @Setup
+  public void setup() {
+    Font[] fonts = { new Font(Font.SANS_SERIF, Font.PLAIN, 12), new Font(Font.MONOSPACED, Font.PLAIN, 12) };
+    Color[] colors = { Color.WHITE, Color.YELLOW, Color.RED };
+    TextMetrics textMetrics = new TextMetrics();
+
+    canvas = new Canvas(960, 540);
+    context = new BufferedImage(960, 540, BufferedImage.TYPE_INT_RGB).createGraphics();
+    texts = new Text[textCount];
+    commands = new DrawCommandBuffer();
+
+    for (int i = 0; i < textCount; i++) {
+      texts[i] = new Text("Score " + i, (i % 10) * 90, (i / 10) % 30 * 18, fonts[i % fonts.length], colors[i % colors.length], 12, textMetrics);
+    }
+  }
+
+  @Benchmark
+  public void immediate() {
+    for (Text text : texts) {
+      text.draw(context, canvas);
+    }
+  }
+
+  @Benchmark
+  public int recorded() {
+    commands.clear();
+
+    for (Text text : texts) {
+      text.record(commands, 0);
+    }
+
+    commands.draw(context, canvas);
+
+    return commands.getStateChanges();
+  }
+}
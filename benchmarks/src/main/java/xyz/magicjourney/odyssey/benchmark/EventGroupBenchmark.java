@@ -0,0 +1,56 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import xyz.magicjourney.odyssey.event.EventGroup;
+import xyz.magicjourney.odyssey.input.types.MouseInputType;
+
+/**
+ * Measures {@link EventGroup#emit} with a different number of subscribers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventGroupBenchmark {
+  @Param({ "1", "10", "1000" })
+  private int subscribers;
+
+  private EventGroup<MouseInputType, Integer> group;
+  private Integer value;
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    group = new EventGroup<>();
+    value = 42;
+
+    for (int i = 0; i < subscribers; i++) {
+      group.subscribe(MouseInputType.MOVE, blackhole::consume);
+    }
+  }
+
+  @Benchmark
+  public void emit() {
+    group.emit(MouseInputType.MOVE, value);
+  }
+
+  @Benchmark
+  public void emitWithoutSubscribers() {
+    group.emit(MouseInputType.CLICK, value);
+  }
+}
@@ -0,0 +1,132 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xyz.magicjourney.odyssey.job.JobSystem;
+import xyz.magicjourney.odyssey.renderer.PixelBuffer;
+
+/**
+ * Compares fills and blits on a full HD buffer done with {@link Graphics2D} and with a {@link PixelBuffer},
+ * on the drawing thread only and split into rows on a {@link JobSystem}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PixelBufferBenchmark {
+  private static final Color TRANSLUCENT = new Color(40, 80, 160, 128);
+
+  @Param({ "64", "512" })
+  private int spriteSize;
+
+  private Graphics2D context;
+  private BufferedImage sprite;
+  private PixelBuffer pixels;
+  private PixelBuffer parallelPixels;
+  private PixelBuffer spritePixels;
+  private JobSystem jobSystem;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+
+    context = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB).createGraphics();
+    sprite = new BufferedImage(spriteSize, spriteSize, BufferedImage.TYPE_INT_ARGB_PRE);
+    jobSystem = new JobSystem();
+
+    Graphics2D spriteContext = sprite.createGraphics();
+
+    spriteContext.setComposite(AlphaComposite.Src);
+
+    for (int y = 0; y < spriteSize; y += 8) {
+      for (int x = 0; x < spriteSize; x += 8) {
+        spriteContext.setColor(new Color(random.nextInt(), true));
+        spriteContext.fillRect(x, y, 8, 8);
+      }
+    }
+
+    spriteContext.dispose();
+
+    pixels = new PixelBuffer(new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB));
+    parallelPixels = new PixelBuffer(new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB));
+    parallelPixels.setJobSystem(jobSystem);
+    spritePixels = new PixelBuffer(sprite);
+  }
+
+  @TearDown
+  public void tearDown() {
+    jobSystem.shutdown();
+  }
+
+  @Benchmark
+  public void graphicsFill() {
+    context.setColor(Color.DARK_GRAY);
+    context.fillRect(0, 0, 1920, 1080);
+  }
+
+  @Benchmark
+  public void pixelFill() {
+    pixels.fill(0, 0, 1920, 1080, 0xFF404040);
+  }
+
+  @Benchmark
+  public void graphicsTranslucentFill() {
+    context.setColor(TRANSLUCENT);
+    context.fillRect(0, 0, 1920, 1080);
+  }
+
+  @Benchmark
+  public void pixelTranslucentFill() {
+    pixels.fill(0, 0, 1920, 1080, TRANSLUCENT.getRGB());
+  }
+
+  @Benchmark
+  public void parallelTranslucentFill() {
+    parallelPixels.fill(0, 0, 1920, 1080, TRANSLUCENT.getRGB());
+  }
+
+  @Benchmark
+  public void graphicsBlit() {
+    context.drawImage(sprite, 100, 100, null);
+  }
+
+  @Benchmark
+  public void pixelBlit() {
+    pixels.blit(spritePixels, 100, 100);
+  }
+
+  @Benchmark
+  public void parallelBlit() {
+    parallelPixels.blit(spritePixels, 100, 100);
+  }
+
+  @Benchmark
+  public void pixelTintedBlit() {
+    pixels.blitTinted(spritePixels, 100, 100, 0xC0FF8040);
+  }
+
+  @Benchmark
+  public void pixelAdditiveBlit() {
+    pixels.blitAdditive(spritePixels, 100, 100);
+  }
+}
@@ -0,0 +1,74 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xyz.magicjourney.odyssey.renderer.BufferStrategyPresenter;
+import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.PanelPresenter;
+import xyz.magicjourney.odyssey.renderer.Presenter;
+import xyz.magicjourney.odyssey.renderer.Window;
+
+/**
+ * Compares the cost of presenting a frame in a real window with {@link PanelPresenter} and {@link BufferStrategyPresenter}.
+ *
+ * <p><b>NOTE:</b> Unlike other benchmarks, it needs a display, so it doesn't run in headless mode.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PresenterBenchmark {
+  @Param({ "panel", "bufferStrategy" })
+  private String presenterType;
+
+  private Window window;
+  private Presenter presenter;
+  private BufferedImage frame;
+
+  @Setup
+  public void setup() throws Exception {
+    if (GraphicsEnvironment.isHeadless()) {
+      throw new IllegalStateException("Presenter benchmark needs a display");
+    }
+
+    Canvas canvas = new Canvas(960, 540);
+
+    SwingUtilities.invokeAndWait(() -> {
+      window = new Window("Presenter benchmark");
+      presenter = presenterType.equals("panel") ? new PanelPresenter(canvas) : new BufferStrategyPresenter(canvas);
+      window.attachCanvas(canvas);
+    });
+
+    frame = new BufferedImage(960, 540, BufferedImage.TYPE_INT_RGB);
+    frame.createGraphics().fillRect(100, 100, 200, 200);
+  }
+
+  @TearDown
+  public void tearDown() {
+    window.close();
+  }
+
+  @Benchmark
+  public void present() {
+    presenter.present(frame);
+  }
+}
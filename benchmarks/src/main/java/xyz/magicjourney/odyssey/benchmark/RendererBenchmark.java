@@ -0,0 +1,49 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.OffscreenPresenter;
+import xyz.magicjourney.odyssey.renderer.Renderer;
+
+/**
+ * Measures {@link Renderer#drawOnScreen()} presenting into an offscreen target of different sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RendererBenchmark {
+  @Param({ "960x540", "1920x1080" })
+  private String targetSize;
+
+  private Renderer renderer;
+
+  @Setup
+  public void setup() {
+    String[] size = targetSize.split("x");
+
+    renderer = new Renderer(new Canvas(960, 540));
+    renderer.setPresenter(new OffscreenPresenter(Integer.parseInt(size[0]), Integer.parseInt(size[1])));
+  }
+
+  @Benchmark
+  public void drawOnScreen() {
+    renderer.draw((context, canvas) -> context.fillRect(100, 100, 200, 200));
+    renderer.drawOnScreen();
+  }
+}
@@ -0,0 +1,81 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xyz.magicjourney.odyssey.job.JobSystem;
+import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.Renderer;
+import xyz.magicjourney.odyssey.scene.Scene;
+import xyz.magicjourney.odyssey.scene.SceneLayer;
+import xyz.magicjourney.odyssey.scene.SceneNode;
+import xyz.magicjourney.odyssey.ui.Image;
+
+/**
+ * Measures rendering a heavy full HD scene of translucent sprites on one thread and in parallel strips.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class StripRenderingBenchmark {
+  @Param({ "1", "2", "4" })
+  private int strips;
+
+  private Renderer renderer;
+  private Scene scene;
+  private JobSystem jobSystem;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    BufferedImage sprite = new BufferedImage(96, 96, BufferedImage.TYPE_INT_ARGB_PRE);
+    Graphics2D spriteContext = sprite.createGraphics();
+
+    spriteContext.setColor(new Color(255, 160, 40, 160));
+    spriteContext.fillOval(0, 0, 96, 96);
+    spriteContext.dispose();
+
+    scene = new Scene();
+    SceneLayer layer = scene.addLayer("sprites", 0);
+
+    for (int i = 0; i < 3000; i++) {
+      layer.getRoot().add(new SceneNode(new Image(sprite, random.nextInt(1920), random.nextInt(1080))));
+    }
+
+    jobSystem = new JobSystem(Math.max(1, strips - 1));
+    renderer = new Renderer(new Canvas(1920, 1080));
+    renderer.setPresenter(null);
+    renderer.setJobSystem(jobSystem);
+    renderer.useParallelStrips(strips);
+  }
+
+  @TearDown
+  public void tearDown() {
+    jobSystem.shutdown();
+  }
+
+  @Benchmark
+  public void drawFrame() {
+    renderer.draw(scene);
+    renderer.drawOnScreen();
+  }
+}
@@ -0,0 +1,91 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xyz.magicjourney.odyssey.renderer.text.TextMetrics;
+import xyz.magicjourney.odyssey.ui.Text;
+
+/**
+ * Measures calculating the size of a {@link Text}, which happens on every text change, setting a counter every frame,
+ * and drawing a text with {@code drawString}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TextBenchmark {
+  private MeasuredText text;
+  private Text drawnText;
+  private Graphics2D context;
+  private StringBuilder counter;
+  private int frame;
+
+  @Setup
+  public void setup() {
+    BufferedImage target = new BufferedImage(512, 64, BufferedImage.TYPE_INT_RGB);
+    TextMetrics textMetrics = new TextMetrics();
+    Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 15);
+
+    text = new MeasuredText(new Font(Font.SANS_SERIF, Font.PLAIN, 12), textMetrics);
+    drawnText = new Text("Loaded /images/background.png", 0, 20, font, Color.WHITE, 15, textMetrics);
+    context = target.createGraphics();
+    counter = new StringBuilder();
+  }
+
+  @Benchmark
+  public int calculateSize() {
+    text.measure();
+    return text.getWidth();
+  }
+
+  @Benchmark
+  public String setSameText() {
+    text.setText("Loaded /images/background.png");
+    return text.getText();
+  }
+
+  @Benchmark
+  public int setCounterText() {
+    counter.setLength(0);
+    counter.append("FPS: ").append(frame++);
+    drawnText.setText(counter);
+    return drawnText.getBounds().width;
+  }
+
+  @Benchmark
+  public void drawString() {
+    drawnText.draw(context, null);
+  }
+
+  /** Exposes the size calculation of the text. */
+  private static class MeasuredText extends Text {
+    private MeasuredText(Font font, TextMetrics textMetrics) {
+      super("Loaded /images/background.png", 0, 0, font, Color.WHITE, 15, textMetrics);
+    }
+
+    private void measure() {
+      calculateSize();
+    }
+
+    private int getWidth() {
+      return width;
+    }
+  }
+}
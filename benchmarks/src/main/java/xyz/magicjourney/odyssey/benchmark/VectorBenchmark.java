@@ -0,0 +1,71 @@
+package xyz.magicjourney.odyssey.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xyz.magicjourney.odyssey.math.Vector;
+
+/**
+ * Compares static {@link Vector} operations, which allocate a new vector, with in-place operations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBenchmark {
+  private Vector a;
+  private Vector b;
+  private Vector target;
+
+  @Setup
+  public void setup() {
+    a = new Vector(3.5, -2.25);
+    b = new Vector(-1.0, 4.75);
+    target = new Vector();
+  }
+
+  @Benchmark
+  public Vector staticAddition() {
+    return Vector.addition(a, b);
+  }
+
+  @Benchmark
+  public Vector inPlaceAddition() {
+    target.set(a);
+    return target.add(b);
+  }
+
+  @Benchmark
+  public Vector staticMultiplication() {
+    return Vector.multiplication(a, 1.5);
+  }
+
+  @Benchmark
+  public Vector inPlaceMultiplication() {
+    target.set(a);
+    return target.multiply(1.5);
+  }
+
+  @Benchmark
+  public Vector staticClamp() {
+    return Vector.clamp(a, -1, 1);
+  }
+
+  @Benchmark
+  public Vector inPlaceClamp() {
+    target.set(a);
+    return target.clamp(-1, 1);
+  }
+}
@@ -1,8 +1,28 @@
 package xyz.magicjourney.odyssey;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.locks.LockSupport;
+
 import xyz.magicjourney.odyssey.input.InputManager;
+import xyz.magicjourney.odyssey.input.replay.InputRecorder;
+import xyz.magicjourney.odyssey.input.replay.InputReplay;
+import xyz.magicjourney.odyssey.job.JobSystem;
+import xyz.magicjourney.odyssey.loop.Clock;
+import xyz.magicjourney.odyssey.loop.FixedTimestep;
+import xyz.magicjourney.odyssey.loop.FramePacer;
+import xyz.magicjourney.odyssey.loop.SimulatedClock;
+import xyz.magicjourney.odyssey.loop.SystemClock;
+import xyz.magicjourney.odyssey.loop.TaskQueue;
+import xyz.magicjourney.odyssey.profiler.FramePhase;
+import xyz.magicjourney.odyssey.profiler.FrameProfiler;
+import xyz.magicjourney.odyssey.renderer.BufferStrategyPresenter;
 import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.PanelPresenter;
+import xyz.magicjourney.odyssey.renderer.Presenter;
 import xyz.magicjourney.odyssey.renderer.Renderer;
+import xyz.magicjourney.odyssey.renderer.ResolutionScaler;
 import xyz.magicjourney.odyssey.renderer.Window;
 import xyz.magicjourney.odyssey.resource.ResourceManager;
 import xyz.magicjourney.odyssey.screen.AbstractLoadingScreen;
@@ -33,8 +53,23 @@ public class Engine {
   private ScreenManager screenManager;
   private ResourceManager resourceManager;
   private Thread thread;
-  private boolean running;
+  private Thread renderThread;
+  private boolean separateRenderThread;
+  private volatile boolean running;
   private long lastFrame;
+  private FixedTimestep fixedTimestep;
+  private FramePacer framePacer;
+  private Clock clock;
+  private SimulatedClock simulatedClock;
+  private long simulatedFrameNanos;
+  private boolean headless;
+  private boolean timingStarted;
+  private FrameProfiler profiler;
+  private volatile InputRecorder inputRecorder;
+  private volatile InputReplay inputReplay;
+  private JobSystem jobSystem;
+  private TaskQueue gameThreadTasks;
+  private volatile boolean inputRouted;
 
   /**
    * Creates an instance of the game engine with a default window size.
@@ -53,12 +88,45 @@ public class Engine {
    * @param height The height of the game window.
    */
   public Engine(String title, int width, int height) {
-    window = new Window(title);
+    this(title, width, height, false);
+  }
+
+  /**
+   * Creates an instance of the game engine, optionally without a window.
+   *
+   * <p>In headless mode no window is created and the game loop starts right away instead of waiting for the canvas
+   * to be displayed. The canvas only provides the virtual size used by screens, frames are drawn but not presented
+   * (see {@link Renderer#setPresenter}), and input can be injected with the {@code emit} methods of the {@link InputManager}.
+   * Combined with {@link #useSimulatedClock(long)} it allows running screens on machines without a display,
+   * e.g. for tests, soak and performance runs or a simulation server.</p>
+   *
+   * @param title    The title of the game window.
+   * @param width    The width of the game window (virtual canvas size in headless mode).
+   * @param height   The height of the game window (virtual canvas size in headless mode).
+   * @param headless {@code true} to run without a window, {@code false} otherwise.
+   */
+  public Engine(String title, int width, int height, boolean headless) {
+    this.headless = headless;
+    window = headless ? null : new Window(title);
     canvas = new Canvas(width, height);
     renderer = new Renderer(canvas);
     inputManager = new InputManager();
     resourceManager = new ResourceManager();
     screenManager = new ScreenManager(inputManager, resourceManager, canvas);
+    framePacer = new FramePacer(60);
+    profiler = new FrameProfiler();
+    jobSystem = new JobSystem();
+    gameThreadTasks = new TaskQueue();
+
+    screenManager.setProfiler(profiler);
+    screenManager.setJobSystem(jobSystem);
+    renderer.setJobSystem(jobSystem);
+    resourceManager.setProfiler(profiler);
+    clock = new SystemClock();
+
+    if (headless) {
+      renderer.setPresenter(null);
+    }
   }
   
   /**
@@ -87,22 +155,378 @@ public class Engine {
     screenManager.registerScreen(name, screen.create(inputManager, screenManager, resourceManager, canvas));
   }
 
+  /**
+   * Switches the game loop to the fixed timestep mode with at most 5 update steps per frame.
+   *
+   * @param stepMillis The duration of a single update step in milliseconds.
+   *
+   * @see Engine#useFixedTimestep(long, int)
+   */
+  public void useFixedTimestep(long stepMillis) {
+    useFixedTimestep(stepMillis, 5);
+  }
+
+  /**
+   * Switches the game loop to the fixed timestep mode.
+   *
+   * <p>In this mode screens are always updated with the same {@code deltaTime}, independently of the frame rate.
+   * Time measured with {@link System#nanoTime()} is accumulated and consumed in steps of {@code stepMillis},
+   * so a single frame may perform zero or several updates. The remaining fraction of a step is passed
+   * to {@link Screen#draw(xyz.magicjourney.odyssey.renderer.Renderer, double)} as the interpolation factor.</p>
+   *
+   * <p><b>NOTE:</b> If a frame has more than {@code maxStepsPerFrame} steps to catch up on, the surplus is dropped
+   * to avoid the "spiral of death" where updates never catch up with real time.</p>
+   *
+   * @param stepMillis       The duration of a single update step in milliseconds.
+   * @param maxStepsPerFrame The maximal number of update steps performed in a single frame.
+   *
+   * @see FixedTimestep
+   */
+  public void useFixedTimestep(long stepMillis, int maxStepsPerFrame) {
+    this.fixedTimestep = new FixedTimestep(stepMillis, maxStepsPerFrame);
+  }
+
+  /**
+   * Switches the game loop to the variable timestep mode (default).
+   * Screens are updated once per frame with the duration of the previous frame.
+   */
+  public void useVariableTimestep() {
+    this.fixedTimestep = null;
+  }
+
+  /**
+   * Gets the fixed timestep accumulator used by the game loop.
+   *
+   * @return The fixed timestep, or null if the game loop runs in the variable timestep mode.
+   */
+  public FixedTimestep getFixedTimestep() {
+    return fixedTimestep;
+  }
+
+  /**
+   * Sets the frame rate limit of the game loop (60 by default).
+   *
+   * <p>Between frames the game thread is parked instead of busy-spinning, leaving the CPU
+   * to the resource loading thread and the AWT event thread.</p>
+   *
+   * @param targetFrameRate The target number of frames per second, or 0 for an uncapped frame rate (benchmarking).
+   *
+   * @see FramePacer
+   */
+  public void setTargetFrameRate(int targetFrameRate) {
+    framePacer.setTargetFrameRate(targetFrameRate);
+  }
+
+  /**
+   * Gets the frame pacer limiting the frame rate of the game loop.
+   * Use it to tune the spin threshold and read the measured pacing error.
+   *
+   * @return The frame pacer.
+   */
+  public FramePacer getFramePacer() {
+    return framePacer;
+  }
+
+  /**
+   * Enables or disables presenting frames on a separate render thread.
+   *
+   * <p>By default, updating, drawing and presenting a frame on the screen run one after another on the game thread,
+   * so a slow present directly lengthens simulation ticks. When this mode is enabled, the game thread updates
+   * and draws frames into a triple buffer, while the render thread puts the newest finished frame on the screen.
+   * Neither of the threads blocks the other; if the game thread is faster, older frames are skipped.</p>
+   *
+   * <p><b>NOTE:</b> It must be called before the game is started. Screens are still updated and drawn on the game thread,
+   * so they do not need any synchronization.</p>
+   *
+   * @param enabled {@code true} to present frames on a separate thread, {@code false} to present them on the game thread.
+   *
+   * @see Renderer#enableFrameHandoff()
+   */
+  public void useSeparateRenderThread(boolean enabled) {
+    this.separateRenderThread = enabled;
+  }
+
+  /**
+   * Makes the game loop run "as fast as possible" on a simulated clock.
+   *
+   * <p>Each frame pretends that exactly {@code frameMillis} has passed, regardless of how long it really took,
+   * and the frame rate limit is disabled. In the fixed timestep mode it is recommended to use the step duration,
+   * so every frame performs exactly one update.</p>
+   *
+   * <p><b>NOTE:</b> It is intended for headless runs. It must be called before the game is started.</p>
+   *
+   * @param frameMillis The simulated duration of a single frame in milliseconds.
+   */
+  public void useSimulatedClock(long frameMillis) {
+    this.simulatedClock = new SimulatedClock();
+    this.simulatedFrameNanos = frameMillis * 1_000_000;
+    this.clock = simulatedClock;
+    this.framePacer.setTargetFrameRate(0);
+  }
+
+  /**
+   * Checks if the engine runs without a window.
+   *
+   * @return {@code true} in headless mode, {@code false} otherwise.
+   */
+  public boolean isHeadless() {
+    return headless;
+  }
+
+  /**
+   * Gets the input manager, e.g. to inject synthetic input in headless mode.
+   *
+   * @return The input manager.
+   */
+  public InputManager getInputManager() {
+    return inputManager;
+  }
+
+  /**
+   * Gets the canvas, e.g. to use it as the source of synthetic input events.
+   *
+   * @return The canvas.
+   */
+  public Canvas getCanvas() {
+    return canvas;
+  }
+
+  /**
+   * Selects how frames are put on the screen.
+   *
+   * <p>When enabled, frames are presented with page flipping through a {@code BufferStrategy}
+   * and a video memory back buffer, which allows hardware accelerated scaling (see {@link BufferStrategyPresenter}).
+   * Otherwise, frames are drawn directly on the canvas panel (see {@link PanelPresenter}), which is the default.</p>
+   *
+   * <p><b>NOTE:</b> It should be called before the game is started.</p>
+   *
+   * @param enabled {@code true} to use the buffer strategy, {@code false} to draw on the canvas panel.
+   */
+  public void useBufferStrategy(boolean enabled) {
+    if (headless) {
+      throw new IllegalStateException("Cannot present frames on the screen in headless mode");
+    }
+
+    Presenter current = renderer.getPresenter();
+
+    if (enabled == current instanceof BufferStrategyPresenter) {
+      return;
+    }
+
+    if (current instanceof BufferStrategyPresenter presenter) {
+      renderer.setPresenter(new PanelPresenter(canvas));
+      inputManager.unobserve(presenter.getSurface());
+      presenter.dispose();
+    }
+    else {
+      BufferStrategyPresenter presenter = new BufferStrategyPresenter(canvas);
+
+      // The surface covers the canvas, so it receives all input events instead of it.
+      inputManager.observe(presenter.getSurface());
+      renderer.setPresenter(presenter);
+    }
+  }
+
+  /**
+   * Enables dynamic resolution: the game is rendered at a lower resolution when frames take longer than the budget,
+   * and goes back to the full resolution when there is enough headroom.
+   *
+   * @param frameBudgetMillis The target frame time (in milliseconds), e.g. 16 for 60 FPS.
+   * @return The resolution scaler, e.g. to subscribe to scale changes or tune its thresholds.
+   */
+  public ResolutionScaler useDynamicResolution(long frameBudgetMillis) {
+    ResolutionScaler scaler = new ResolutionScaler(frameBudgetMillis);
+
+    renderer.useResolutionScaling(scaler);
+
+    return scaler;
+  }
+
+  /**
+   * Gets the renderer, e.g. to change the frame presenter.
+   *
+   * @return The renderer.
+   */
+  public Renderer getRenderer() {
+    return renderer;
+  }
+
+  /**
+   * Gets the profiler collecting timings of the update, draw and present phases of each frame,
+   * as well as resource loading and screen switching.
+   *
+   * @return The frame profiler.
+   *
+   * @see FramePhase
+   */
+  public FrameProfiler getProfiler() {
+    return profiler;
+  }
+
+  /**
+   * Gets the job system running game work in parallel.
+   * Screens can access it with {@link ScreenManager#getJobSystem()}.
+   *
+   * @return The job system.
+   */
+  public JobSystem getJobSystem() {
+    return jobSystem;
+  }
+
+  /**
+   * Schedules the task to run on the game thread at the beginning of the next frame, before the update.
+   * Can be called from any thread without blocking.
+   *
+   * <p>Use it to pass changes from other threads (e.g. Swing callbacks or resource loading) to the game state,
+   * which is otherwise modified only by the game thread.</p>
+   *
+   * @param task The task to run.
+   */
+  public void runOnGameThread(Runnable task) {
+    gameThreadTasks.add(task);
+  }
+
+  /**
+   * Enables or disables emitting input events on the game thread.
+   *
+   * <p>When enabled, events received on the AWT Event Dispatch Thread are queued and their subscribers
+   * are called at the beginning of the next frame, so they never run concurrently with updating and drawing.
+   * It costs up to one frame of input latency. Disabled by default.</p>
+   *
+   * <p><b>NOTE:</b> While input is recorded, events are always emitted on the game thread (see {@link #recordInput(OutputStream)}).
+   * The setting applies again when the recording stops.</p>
+   *
+   * @param enabled {@code true} to emit input events on the game thread, {@code false} to emit them immediately.
+   */
+  public void routeInputThroughGameThread(boolean enabled) {
+    inputRouted = enabled;
+    updateInputDispatcher();
+  }
+
+  /**
+   * Starts recording all input events into the specified stream.
+   *
+   * <p>Events are stored together with the update step they belong to and the {@code deltaTime} of each step,
+   * so the recording can be played back deterministically with {@link #replayInput(InputStream)}.</p>
+   *
+   * <p>Input is routed through the game thread while recording (see {@link #routeInputThroughGameThread(boolean)}).
+   * <b>WHY?</b> Events emitted on the Event Dispatch Thread are stamped with whichever step is being updated when they arrive,
+   * so the same input could be replayed one step earlier or later. Queued events are emitted between steps instead.</p>
+   *
+   * <p><b>NOTE:</b> The recording stops when the game closes or when {@link #stopRecordingInput()} is called.</p>
+   *
+   * @param output The stream to write the recording to, e.g. a file.
+   * @return The input recorder.
+   * @throws IOException if an I/O error occurs.
+   *
+   * @see InputRecorder
+   */
+  public InputRecorder recordInput(OutputStream output) throws IOException {
+    stopRecordingInput();
+
+    InputRecorder recorder = new InputRecorder(inputManager, canvas, output);
+
+    recorder.start();
+    inputRecorder = recorder;
+    updateInputDispatcher();
+
+    return recorder;
+  }
+
+  /**
+   * Stops recording input events and closes the recording stream.
+   *
+   * @throws IOException if an I/O error occurs.
+   */
+  public void stopRecordingInput() throws IOException {
+    InputRecorder recorder = inputRecorder;
+
+    if (recorder != null) {
+      inputRecorder = null;
+      updateInputDispatcher();
+      recorder.stop();
+    }
+  }
+
+  /**
+   * Emits input events on the game thread if it's enabled or input is being recorded.
+   */
+  private void updateInputDispatcher() {
+    inputManager.setDispatcher(inputRouted || inputRecorder != null ? gameThreadTasks : null);
+  }
+
+  /**
+   * Plays back an input recording created with {@link #recordInput(OutputStream)}.
+   *
+   * <p>Before each update step, the events recorded for that step are emitted through the {@link InputManager}
+   * and the step is updated with the recorded {@code deltaTime} instead of the measured one.
+   * Combined with headless mode and {@link #useSimulatedClock(long)} the replay runs faster than real time,
+   * e.g. for regression and profiling runs. When the recording ends, the game continues with the measured time.</p>
+   *
+   * <p><b>NOTE:</b> Live input is still emitted during the replay. Do not interact with the window to keep the replay deterministic.</p>
+   *
+   * @param input The stream containing the recording.
+   * @return The input replay, e.g. to subscribe to its "finish" event.
+   * @throws IOException if an I/O error occurs or the stream does not contain an input recording.
+   *
+   * @see InputReplay
+   */
+  public InputReplay replayInput(InputStream input) throws IOException {
+    InputReplay replay = new InputReplay(inputManager, canvas, input);
+
+    inputReplay = replay;
+
+    return replay;
+  }
+
   /**
    * Start the game.
    * Observes the canvas for input events and starts the game loop.
+   *
+   * <p>In headless mode, the game loop starts immediately.</p>
    */
   public void start() {
+    screenManager.onGameClose().subscribe(this::close);
+
+    if (headless) {
+      resourceManager.startLoading();
+      initThread();
+      return;
+    }
+
     canvas.onReady().subscribe(() -> {
       inputManager.observe(canvas);
       initThread();
     });
-    
-    screenManager.onGameClose().subscribe(this::close);
 
     resourceManager.startLoading();
     window.attachCanvas(canvas);
   }
 
+  /**
+   * Runs the specified number of frames on the calling thread, without limiting the frame rate.
+   *
+   * <p>Intended for headless tests and benchmarks that drive the engine step by step
+   * instead of calling {@link #start()}.</p>
+   *
+   * <p><b>NOTE:</b> It must not be used while the game loop started by {@link #start()} is running.</p>
+   *
+   * @param count The number of frames to run.
+   */
+  public void runFrames(long count) {
+    if (thread != null) {
+      throw new IllegalStateException("Cannot run frames manually while the game loop is running");
+    }
+
+    if (!timingStarted) {
+      startTiming();
+    }
+
+    for (long i = 0; i < count; i++) {
+      runFrame();
+    }
+  }
+
   /**
    * Initializes the game thread if it's not already running.
    */
@@ -113,6 +537,17 @@ public class Engine {
     }
   }
 
+  /**
+   * Initializes the render thread if presenting on a separate thread is enabled.
+   */
+  private void initRenderThread() {
+    if (separateRenderThread && renderThread == null) {
+      renderer.enableFrameHandoff();
+      renderThread = new Thread(this::renderLoop);
+      renderThread.start();
+    }
+  }
+
   /**
    * Closes the game by setting the running flag to false.
    */
@@ -127,37 +562,209 @@ public class Engine {
    */
   public void logicThread() {
     this.running = true;
-    this.lastFrame = System.currentTimeMillis();
+    this.startTiming();
+    this.initRenderThread();
     this.gameLoop();
   }
 
+  /**
+   * Starts measuring frame durations from the current time of the clock.
+   */
+  private void startTiming() {
+    this.timingStarted = true;
+    this.lastFrame = clock.nanoTime();
+
+    if (fixedTimestep != null) {
+      fixedTimestep.reset(clock.nanoTime());
+    }
+
+    framePacer.reset(System.nanoTime());
+  }
+
   /**
    * The core game loop that updates screens and renders on the canvas.
-   * Calculates the time elapsed between frames for smooth updates.
+   * Depending on the selected mode, runs frames with a variable or a fixed timestep
+   * and waits between frames to keep the target frame rate.
    */
   public void gameLoop() {
     while (running) {
-      long deltaTime = calculateLastFrameDuration();
+      runFrame();
+      framePacer.waitForNextFrame();
+    }
+
+    joinRenderThread();
+    jobSystem.shutdown();
+
+    try {
+      stopRecordingInput();
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+    }
+
+    if (window != null) {
+      window.close();
+    }
+  }
+
+  /**
+   * Runs a single frame: runs tasks queued for the game thread, updates and draws screens with the selected timestep mode and presents the result.
+   */
+  private void runFrame() {
+    if (simulatedClock != null) {
+      simulatedClock.advance(simulatedFrameNanos);
+    }
+
+    long frameStart = profiler.start();
+    long workStart = System.nanoTime();
+
+    gameThreadTasks.drain();
+
+    if (fixedTimestep != null) {
+      runFixedFrame();
+    }
+    else {
+      runVariableFrame();
+    }
+
+    present();
+    profiler.end(FramePhase.FRAME, frameStart);
+    renderer.reportFrameTime(System.nanoTime() - workStart);
+  }
+
+  /**
+   * Puts the drawn frame on the screen, or hands it over to the render thread if it is enabled.
+   */
+  private void present() {
+    if (renderThread != null) {
+      renderer.publishFrame();
+    }
+    else {
+      long start = profiler.start();
 
-      screenManager.update(deltaTime);
-      screenManager.draw(renderer);
       renderer.drawOnScreen();
+      profiler.end(FramePhase.PRESENT, start);
+    }
+  }
+
+  /**
+   * The loop of the render thread that presents the newest finished frames on the screen.
+   * It is paced with the same target frame rate as the game loop.
+   */
+  private void renderLoop() {
+    FramePacer renderPacer = new FramePacer(framePacer.getTargetFrameRate());
+
+    while (running) {
+      long start = profiler.start();
+      boolean presented = renderer.presentLatestFrame();
+
+      if (presented) {
+        profiler.end(FramePhase.PRESENT, start);
+      }
+
+      if (renderPacer.isUncapped() && !presented) {
+        LockSupport.parkNanos(100_000);
+      }
+
+      renderPacer.waitForNextFrame();
+    }
+  }
+
+  /**
+   * Waits until the render thread finishes presenting its last frame.
+   */
+  private void joinRenderThread() {
+    if (renderThread == null) {
+      return;
+    }
+
+    try {
+      renderThread.join();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Runs a single frame, updating screens with the time elapsed since the previous frame.
+   */
+  private void runVariableFrame() {
+    long deltaTime = calculateLastFrameDuration();
+    long start = profiler.start();
+
+    update(deltaTime);
+    start = profiler.end(FramePhase.UPDATE, start);
+
+    screenManager.draw(renderer);
+    profiler.end(FramePhase.DRAW, start);
+  }
+
+  /**
+   * Runs a single frame, performing as many fixed update steps as the accumulated time allows
+   * and drawing with the interpolation factor of the unconsumed time.
+   */
+  private void runFixedFrame() {
+    int steps = fixedTimestep.advance(clock.nanoTime());
+    long start = profiler.start();
+
+    for (int i = 0; i < steps; i++) {
+      update(fixedTimestep.getStepMillis());
+    }
+
+    if (steps > 0) {
+      start = profiler.end(FramePhase.UPDATE, start);
+    }
+
+    screenManager.draw(renderer, fixedTimestep.getAlpha());
+    profiler.end(FramePhase.DRAW, start);
+  }
+
+  /**
+   * Performs a single update step of the current screen and waits for all jobs it has submitted.
+   * Plays back and records input if it is enabled.
+   *
+   * @param deltaTime The time passed since the last update (in milliseconds).
+   */
+  private void update(long deltaTime) {
+    long stepTime = deltaTime;
+    InputReplay replay = inputReplay;
+
+    if (replay != null) {
+      long recordedTime = replay.nextFrame();
+
+      if (recordedTime >= 0) {
+        stepTime = recordedTime;
+      }
+      else {
+        inputReplay = null;
+      }
     }
 
-    window.close();
+    screenManager.update(stepTime);
+    jobSystem.awaitAll();
+
+    InputRecorder recorder = inputRecorder;
+
+    if (recorder != null) {
+      recorder.nextFrame(stepTime);
+    }
   }
 
   /**
    * Calculates the duration of the last frame in milliseconds.
    * Updates the last frame timestamp for the next calculation.
    *
+   * <p><b>NOTE:</b> The timestamp is only moved by whole milliseconds, so the sub-millisecond remainder
+   * is carried over to the next frame instead of being lost.</p>
+   *
    * @return The duration of the last frame in milliseconds.
    */
   private long calculateLastFrameDuration() {
-    long current = System.currentTimeMillis();
-    long duration = current - lastFrame;
+    long current = clock.nanoTime();
+    long duration = (current - lastFrame) / 1_000_000;
 
-    lastFrame = current;
+    lastFrame += duration * 1_000_000;
 
     return duration;
   }
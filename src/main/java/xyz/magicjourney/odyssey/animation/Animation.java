@@ -0,0 +1,232 @@
+package xyz.magicjourney.odyssey.animation;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+import xyz.magicjourney.odyssey.event.Event;
+import xyz.magicjourney.odyssey.event.EventGetter;
+import xyz.magicjourney.odyssey.renderer.Bounded;
+import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.DrawCommandBuffer;
+import xyz.magicjourney.odyssey.renderer.Recordable;
+import xyz.magicjourney.odyssey.update.Updatable;
+
+/**
+ * Plays a range of frames of a sprite sheet, advancing them by the duration of each frame.
+ *
+ * <p>Updating only moves counters and drawing copies a sub-image created by the sprite sheet,
+ * so a playing animation doesn't allocate. The time left over from a frame is carried to the next one,
+ * so the animation keeps its pace even when updates don't line up with frame durations.</p>
+ *
+ * <p>A pass goes once through the range in the direction of the animation. Ping-pong animations turn around
+ * at the ends without repeating the end frames, and each direction counts as one pass.
+ * Emits the "finish" event when the last repetition ends, and stays on its last frame.</p>
+ *
+ * @see SpriteSheet
+ */
+public class Animation implements Updatable, Bounded, Recordable {
+  private SpriteSheet sheet;
+  private int x;
+  private int y;
+
+  private int from;
+  private int to;
+  private AnimationDirection direction;
+  private int repeat;
+  private int frame;
+  private int step;
+  private int passes;
+  private long elapsed;
+  private boolean playing;
+
+  private long version;
+  private Event finishEvent;
+
+  /**
+   * Constructs an animation playing all frames of the sprite sheet forever.
+   *
+   * @param sheet The sprite sheet.
+   * @param x The x-coordinate of the top-left corner.
+   * @param y The y-coordinate of the top-left corner.
+   */
+  public Animation(SpriteSheet sheet, int x, int y) {
+    this.sheet = sheet;
+    this.x = x;
+    this.y = y;
+    this.finishEvent = new Event();
+    this.play(0, sheet.getFrameCount() - 1, AnimationDirection.FORWARD, 0);
+  }
+
+  /**
+   * Returns an {@link EventGetter} for the "finish" event, emitted when the last repetition ends.
+   *
+   * @return An {@link EventGetter} for the "finish" event.
+   */
+  public EventGetter onFinish() {
+    return finishEvent;
+  }
+
+  /**
+   * Plays the frames of the tag from the start.
+   *
+   * @param name The name of the tag.
+   */
+  public void play(String name) {
+    FrameTag tag = sheet.getTag(name);
+
+    if (tag == null) {
+      throw new IllegalArgumentException("Sprite sheet has no tag " + name);
+    }
+
+    play(tag);
+  }
+
+  /**
+   * Plays the frames of the tag from the start.
+   *
+   * @param tag The tag.
+   */
+  public void play(FrameTag tag) {
+    play(tag.getFrom(), tag.getTo(), tag.getDirection(), tag.getRepeat());
+  }
+
+  /**
+   * Plays a range of frames from the start.
+   *
+   * @param from The index of the first frame.
+   * @param to The index of the last frame (inclusive).
+   * @param direction The order in which the frames are played.
+   * @param repeat The number of passes, or 0 to play forever.
+   */
+  public void play(int from, int to, AnimationDirection direction, int repeat) {
+    if (from < 0 || to < from || to >= sheet.getFrameCount()) {
+      throw new IllegalArgumentException("Invalid frame range " + from + "-" + to);
+    }
+
+    boolean backwards = direction == AnimationDirection.REVERSE || direction == AnimationDirection.PING_PONG_REVERSE;
+
+    this.from = from;
+    this.to = to;
+    this.direction = direction;
+    this.repeat = repeat;
+    this.frame = backwards ? to : from;
+    this.step = backwards ? -1 : 1;
+    this.passes = 0;
+    this.elapsed = 0;
+    this.playing = true;
+    this.version++;
+  }
+
+  /**
+   * Pauses the animation on its current frame.
+   */
+  public void pause() {
+    playing = false;
+  }
+
+  /**
+   * Resumes the paused animation.
+   */
+  public void resume() {
+    playing = true;
+  }
+
+  /**
+   * Checks if the animation is playing.
+   *
+   * @return {@code true} if it is playing, {@code false} if it's paused or finished.
+   */
+  public boolean isPlaying() {
+    return playing;
+  }
+
+  /**
+   * Gets the index of the current frame in the sprite sheet.
+   *
+   * @return The current frame.
+   */
+  public int getFrame() {
+    return frame;
+  }
+
+  /**
+   * Sets the position of the animation.
+   *
+   * @param x The x-coordinate of the top-left corner.
+   * @param y The y-coordinate of the top-left corner.
+   */
+  public void setPosition(int x, int y) {
+    this.x = x;
+    this.y = y;
+    this.version++;
+  }
+
+  @Override
+  public void update(long deltaTime) {
+    if (!playing) {
+      return;
+    }
+
+    elapsed += deltaTime;
+
+    // Frames shorter than 1 ms would never let the loop end.
+    long duration = Math.max(1, sheet.getDuration(frame));
+
+    while (playing && elapsed >= duration) {
+      elapsed -= duration;
+      advance();
+      duration = Math.max(1, sheet.getDuration(frame));
+    }
+  }
+
+  @Override
+  public Rectangle getBounds() {
+    return new Rectangle(x, y, sheet.getFrameWidth(), sheet.getFrameHeight());
+  }
+
+  @Override
+  public long getVersion() {
+    return version;
+  }
+
+  @Override
+  public void record(DrawCommandBuffer buffer, int layer) {
+    buffer.drawImage(layer, sheet.getFrame(frame), x, y);
+  }
+
+  @Override
+  public void draw(Graphics2D context, Canvas canvas) {
+    sheet.draw(context, frame, x, y);
+  }
+
+  /**
+   * Moves to the next frame, turning around or starting the next pass at the end of the range.
+   */
+  private void advance() {
+    int next = frame + step;
+
+    if (next < from || next > to) {
+      passes++;
+
+      if (repeat > 0 && passes >= repeat) {
+        playing = false;
+        elapsed = 0;
+        finishEvent.emit();
+        return;
+      }
+
+      if (direction == AnimationDirection.PING_PONG || direction == AnimationDirection.PING_PONG_REVERSE) {
+        step = -step;
+        next = from == to ? frame : frame + step;
+      }
+      else {
+        next = step > 0 ? from : to;
+      }
+    }
+
+    if (next != frame) {
+      frame = next;
+      version++;
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package xyz.magicjourney.odyssey.animation;
+
+/**
+ * The order in which the frames of an animation are played.
+ */
+public enum AnimationDirection {
+  /** From the first frame to the last one. */
+  FORWARD,
+  /** From the last frame to the first one. */
+  REVERSE,
+  /** From the first frame to the last one and back. */
+  PING_PONG,
+  /** From the last frame to the first one and back. */
+  PING_PONG_REVERSE
+}
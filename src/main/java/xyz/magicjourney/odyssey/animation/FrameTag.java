@@ -0,0 +1,78 @@
+package xyz.magicjourney.odyssey.animation;
+
+/**
+ * A named range of frames of a sprite sheet, e.g. "idle" or "walk".
+ */
+public class FrameTag {
+  private String name;
+  private int from;
+  private int to;
+  private AnimationDirection direction;
+  private int repeat;
+
+  /**
+   * Constructs a tag.
+   *
+   * @param name The name of the tag.
+   * @param from The index of the first frame.
+   * @param to The index of the last frame (inclusive).
+   * @param direction The order in which the frames are played.
+   * @param repeat The number of times the range is played, or 0 to play it forever.
+   */
+  public FrameTag(String name, int from, int to, AnimationDirection direction, int repeat) {
+    if (from < 0 || to < from) {
+      throw new IllegalArgumentException("Invalid frame range " + from + "-" + to + " of tag " + name);
+    }
+
+    this.name = name;
+    this.from = from;
+    this.to = to;
+    this.direction = direction;
+    this.repeat = repeat;
+  }
+
+  /**
+   * Gets the name of the tag.
+   *
+   * @return The name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the index of the first frame.
+   *
+   * @return The first frame.
+   */
+  public int getFrom() {
+    return from;
+  }
+
+  /**
+   * Gets the index of the last frame (inclusive).
+   *
+   * @return The last frame.
+   */
+  public int getTo() {
+    return to;
+  }
+
+  /**
+   * Gets the order in which the frames are played.
+   *
+   * @return The direction.
+   */
+  public AnimationDirection getDirection() {
+    return direction;
+  }
+
+  /**
+   * Gets the number of times the range is played.
+   *
+   * @return The number of repetitions, or 0 to play the range forever.
+   */
+  public int getRepeat() {
+    return repeat;
+  }
+}
@@ -0,0 +1,174 @@
+package xyz.magicjourney.odyssey.animation;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+
+/**
+ * Frames of equal size stored in one image, row by row, with the duration of each frame and named frame ranges.
+ *
+ * <p>Sub-images of all frames are created once, so getting or drawing a frame doesn't allocate.</p>
+ *
+ * @see Animation
+ */
+public class SpriteSheet {
+  private BufferedImage image;
+  private int frameWidth;
+  private int frameHeight;
+  private int[] durations;
+  private BufferedImage[] frames;
+  private LinkedHashMap<String, FrameTag> tags;
+
+  /**
+   * Constructs a sprite sheet by slicing the image into frames with the same duration, without tags.
+   *
+   * @param image The image with the frames.
+   * @param frameWidth The width of a frame.
+   * @param frameHeight The height of a frame.
+   * @param frameDuration The duration of each frame (in milliseconds).
+   */
+  public SpriteSheet(BufferedImage image, int frameWidth, int frameHeight, int frameDuration) {
+    this(image, frameWidth, frameHeight, uniformDurations(image, frameWidth, frameHeight, frameDuration), Collections.emptyList());
+  }
+
+  /**
+   * Constructs a sprite sheet.
+   *
+   * @param image The image with the frames, row by row from the top-left corner.
+   * @param frameWidth The width of a frame.
+   * @param frameHeight The height of a frame.
+   * @param durations The duration of each frame (in milliseconds), its length is the number of frames.
+   * @param tags The named frame ranges.
+   */
+  public SpriteSheet(BufferedImage image, int frameWidth, int frameHeight, int[] durations, Collection<FrameTag> tags) {
+    if (frameWidth <= 0 || frameHeight <= 0) {
+      throw new IllegalArgumentException("Frame size must be positive");
+    }
+
+    int columns = image.getWidth() / frameWidth;
+
+    if (durations.length == 0 || durations.length > columns * (image.getHeight() / frameHeight)) {
+      throw new IllegalArgumentException("Image doesn't contain " + durations.length + " frames of " + frameWidth + "x" + frameHeight);
+    }
+
+    this.image = image;
+    this.frameWidth = frameWidth;
+    this.frameHeight = frameHeight;
+    this.durations = durations.clone();
+    this.frames = new BufferedImage[durations.length];
+    this.tags = new LinkedHashMap<>();
+
+    for (int i = 0; i < frames.length; i++) {
+      frames[i] = image.getSubimage((i % columns) * frameWidth, (i / columns) * frameHeight, frameWidth, frameHeight);
+    }
+
+    for (FrameTag tag : tags) {
+      if (tag.getTo() >= frames.length) {
+        throw new IllegalArgumentException("Tag " + tag.getName() + " is outside the " + frames.length + " frames");
+      }
+
+      this.tags.put(tag.getName(), tag);
+    }
+  }
+
+  /**
+   * Draws the frame with its top-left corner at the specified position.
+   *
+   * @param context The graphics context.
+   * @param frame The index of the frame.
+   * @param x The x-coordinate of the top-left corner.
+   * @param y The y-coordinate of the top-left corner.
+   */
+  public void draw(Graphics2D context, int frame, int x, int y) {
+    context.drawImage(frames[frame], x, y, null);
+  }
+
+  /**
+   * Gets the image of the frame.
+   *
+   * @param frame The index of the frame.
+   * @return The sub-image of the frame.
+   */
+  public BufferedImage getFrame(int frame) {
+    return frames[frame];
+  }
+
+  /**
+   * Gets the duration of the frame.
+   *
+   * @param frame The index of the frame.
+   * @return The duration (in milliseconds).
+   */
+  public int getDuration(int frame) {
+    return durations[frame];
+  }
+
+  /**
+   * Gets the number of frames.
+   *
+   * @return The number of frames.
+   */
+  public int getFrameCount() {
+    return frames.length;
+  }
+
+  /**
+   * Gets the width of a frame.
+   *
+   * @return The frame width.
+   */
+  public int getFrameWidth() {
+    return frameWidth;
+  }
+
+  /**
+   * Gets the height of a frame.
+   *
+   * @return The frame height.
+   */
+  public int getFrameHeight() {
+    return frameHeight;
+  }
+
+  /**
+   * Gets the tag with the specified name.
+   *
+   * @param name The name of the tag.
+   * @return The tag, or null if there is no such tag.
+   */
+  public FrameTag getTag(String name) {
+    return tags.get(name);
+  }
+
+  /**
+   * Gets all tags in the order they were defined.
+   *
+   * @return The tags.
+   */
+  public Collection<FrameTag> getTags() {
+    return Collections.unmodifiableCollection(tags.values());
+  }
+
+  /**
+   * Gets the image with all frames.
+   *
+   * @return The image.
+   */
+  public BufferedImage getImage() {
+    return image;
+  }
+
+  /**
+   * Creates the durations of all frames that fit in the image.
+   */
+  private static int[] uniformDurations(BufferedImage image, int frameWidth, int frameHeight, int frameDuration) {
+    int[] durations = new int[Math.max(0, (image.getWidth() / Math.max(1, frameWidth)) * (image.getHeight() / Math.max(1, frameHeight)))];
+
+    Arrays.fill(durations, frameDuration);
+
+    return durations;
+  }
+}
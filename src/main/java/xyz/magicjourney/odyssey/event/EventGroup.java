@@ -1,17 +1,21 @@
 package xyz.magicjourney.odyssey.event;
 
 import java.util.HashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 /**
  * A utility class that simplifies the handling of multiple events of different types.
  * Each event type is associated with its own {@link ParameterizedEvent}.
+ *
+ * <p>Emits can be routed through a dispatcher (see {@link #setDispatcher(Executor)}), e.g. to call the subscribers on another thread.</p>
  * 
  * @param <T> The type of event identifiers, should be an enum with particular events.
  * @param <N> The type of callback parameter.
  */
 public class EventGroup<T, N> implements EventGroupGetter<T, N> {
   private HashMap<T, ParameterizedEvent<N>> events;
+  private volatile Executor dispatcher;
 
   public EventGroup() {
     this.events = new HashMap<>();
@@ -47,13 +51,50 @@ public class EventGroup<T, N> implements EventGroupGetter<T, N> {
     }
   }
 
+  /**
+   * Sets the executor on which emits are run.
+   *
+   * @param dispatcher The executor running the emits, or null to emit events immediately.
+   */
+  public void setDispatcher(Executor dispatcher) {
+    this.dispatcher = dispatcher;
+  }
+
+  /**
+   * Gets the executor on which emits are run.
+   *
+   * @return The executor, or null if events are emitted immediately.
+   */
+  public Executor getDispatcher() {
+    return dispatcher;
+  }
+
   /**
    * Emits the event, invoking all callback functions that are subscribing to the particular event with a specific value.
+   *
+   * <p>If a dispatcher is set, the callback functions are invoked later by the dispatcher.</p>
    *    
    * @param event The type of event to emit.
    * @param value The value to pass to the subscribing callback functions.
    */
   public void emit(T event, N value) {
+    Executor executor = dispatcher;
+
+    if (executor == null) {
+      emitImmediately(event, value);
+    }
+    else {
+      executor.execute(() -> emitImmediately(event, value));
+    }
+  }
+
+  /**
+   * Emits the event immediately, even if a dispatcher is set.
+   *
+   * @param event The type of event to emit.
+   * @param value The value to pass to the subscribing callback functions.
+   */
+  public void emitImmediately(T event, N value) {
     if (hasAnySubscribersForEvent(event)) {
       this.events.get(event).emit(value);
     }
@@ -1,10 +1,10 @@
 package xyz.magicjourney.odyssey.input;
 
+import java.awt.Component;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
-
-import javax.swing.JPanel;
+import java.util.concurrent.Executor;
 
 import xyz.magicjourney.odyssey.event.EventGroup;
 import xyz.magicjourney.odyssey.event.EventGroupGetter;
@@ -33,6 +33,33 @@ public class InputManager {
     this.wheelListener = new MouseWheelInputListener(wheelEvents);
   }
 
+  /**
+   * Sets the executor on which events received from the observed component are emitted.
+   *
+   * <p>By default, events are emitted immediately on the AWT Event Dispatch Thread, so subscribers run
+   * concurrently with the game loop. Passing a queue drained by the game thread
+   * (see {@link xyz.magicjourney.odyssey.Engine#routeInputThroughGameThread}) makes them run between frames instead.</p>
+   *
+   * <p><b>NOTE:</b> Events emitted with {@code emitKeyboardEvent}, {@code emitMouseEvent} and {@code emitMouseWheelEvent}
+   * are always emitted immediately.</p>
+   *
+   * @param dispatcher The executor running the emits, or null to emit events immediately.
+   */
+  public void setDispatcher(Executor dispatcher) {
+    mouseEvents.setDispatcher(dispatcher);
+    keyboardEvents.setDispatcher(dispatcher);
+    wheelEvents.setDispatcher(dispatcher);
+  }
+
+  /**
+   * Gets the executor on which events received from the observed component are emitted.
+   *
+   * @return The executor, or null if events are emitted immediately.
+   */
+  public Executor getDispatcher() {
+    return keyboardEvents.getDispatcher();
+  }
+
   /**
    * Returns an {@link EventGroupGetter} for mouse input events.
    * 
@@ -81,14 +108,62 @@ public class InputManager {
   }
 
   /**
-   * Observes the specified JPanel for mouse and keyboard input events.
+   * Emits a keyboard event as if it was received from the observed component.
+   *
+   * <p>Used to inject synthetic input, e.g. in headless mode or tests.</p>
+   *
+   * @param type  The type of the keyboard event.
+   * @param event The event details passed to the subscribers.
+   */
+  public void emitKeyboardEvent(KeyInputType type, KeyEvent event) {
+    keyboardEvents.emitImmediately(type, event);
+  }
+
+  /**
+   * Emits a mouse event as if it was received from the observed component.
+   *
+   * <p>Used to inject synthetic input, e.g. in headless mode or tests.</p>
+   *
+   * @param type  The type of the mouse event.
+   * @param event The event details passed to the subscribers.
+   */
+  public void emitMouseEvent(MouseInputType type, MouseEvent event) {
+    mouseEvents.emitImmediately(type, event);
+  }
+
+  /**
+   * Emits a mouse wheel event as if it was received from the observed component.
+   *
+   * <p>Used to inject synthetic input, e.g. in headless mode or tests.</p>
+   *
+   * @param type  The type of the mouse wheel event.
+   * @param event The event details passed to the subscribers.
+   */
+  public void emitMouseWheelEvent(MouseWheelInputType type, MouseWheelEvent event) {
+    wheelEvents.emitImmediately(type, event);
+  }
+
+  /**
+   * Observes the specified component (e.g. JPanel) for mouse and keyboard input events.
+   *
+   * @param component The component to observe.
+   */
+  public void observe(Component component) {
+    component.addMouseListener(mouseListener);
+    component.addMouseMotionListener(mouseListener);
+    component.addKeyListener(keyboardListener);
+    component.addMouseWheelListener(wheelListener);
+  }
+
+  /**
+   * Stops observing the specified component for input events.
    *
-   * @param panel The JPanel to observe.
+   * @param component The component to stop observing.
    */
-  public void observe(JPanel panel) {
-    panel.addMouseListener(mouseListener);
-    panel.addMouseMotionListener(mouseListener);
-    panel.addKeyListener(keyboardListener);
-    panel.addMouseWheelListener(wheelListener);
+  public void unobserve(Component component) {
+    component.removeMouseListener(mouseListener);
+    component.removeMouseMotionListener(mouseListener);
+    component.removeKeyListener(keyboardListener);
+    component.removeMouseWheelListener(wheelListener);
   }
 }
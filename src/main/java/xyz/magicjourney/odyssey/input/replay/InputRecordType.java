@@ -0,0 +1,28 @@
+package xyz.magicjourney.odyssey.input.replay;
+
+/**
+ * Types of records stored in an input recording.
+ *
+ * <p>The ordinal of the type is written to the recording, so new types can only be appended at the end.</p>
+ */
+public enum InputRecordType {
+  /**
+   * Marks the end of an update step and stores its {@code deltaTime}.
+   */
+  FRAME,
+
+  /**
+   * A keyboard event.
+   */
+  KEY,
+
+  /**
+   * A mouse event.
+   */
+  MOUSE,
+
+  /**
+   * A mouse wheel event.
+   */
+  MOUSE_WHEEL,
+}
@@ -0,0 +1,234 @@
+package xyz.magicjourney.odyssey.input.replay;
+
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.function.Consumer;
+
+import xyz.magicjourney.odyssey.input.InputManager;
+import xyz.magicjourney.odyssey.input.types.KeyInputType;
+import xyz.magicjourney.odyssey.input.types.MouseInputType;
+import xyz.magicjourney.odyssey.input.types.MouseWheelInputType;
+import xyz.magicjourney.odyssey.math.Vector;
+import xyz.magicjourney.odyssey.renderer.Canvas;
+
+/**
+ * Records all events emitted by the {@link InputManager} into a compact binary stream.
+ *
+ * <p>Events are grouped by update steps: after each update the engine calls {@link #nextFrame(long)},
+ * which stores the {@code deltaTime} of the step. Events received in the meantime belong to the next step.
+ * Numbers are written as variable-length integers, so a typical event takes only a few bytes.</p>
+ *
+ * <p>Mouse positions are recorded in canvas coordinates (see {@link Canvas#pointInCanvas}), so a recording
+ * replays the same way whatever the size of the window, including in headless mode.</p>
+ *
+ * <p>The recording can be played back with {@link InputReplay}.</p>
+ */
+public class InputRecorder {
+  static final int MAGIC = 0x4F49_5232;
+
+  private InputManager inputManager;
+  private Canvas canvas;
+  private DataOutputStream output;
+  private EnumMap<KeyInputType, Consumer<KeyEvent>> keyCallbacks;
+  private EnumMap<MouseInputType, Consumer<MouseEvent>> mouseCallbacks;
+  private EnumMap<MouseWheelInputType, Consumer<MouseWheelEvent>> wheelCallbacks;
+  private long frame;
+  private boolean recording;
+
+  /**
+   * Constructs a recorder writing to the specified stream.
+   *
+   * @param inputManager The input manager whose events are recorded.
+   * @param canvas The canvas converting mouse positions to canvas coordinates.
+   * @param output The stream to write the recording to. It is closed when the recording stops.
+   */
+  public InputRecorder(InputManager inputManager, Canvas canvas, OutputStream output) {
+    this.inputManager = inputManager;
+    this.canvas = canvas;
+    this.output = new DataOutputStream(new BufferedOutputStream(output));
+    this.keyCallbacks = new EnumMap<>(KeyInputType.class);
+    this.mouseCallbacks = new EnumMap<>(MouseInputType.class);
+    this.wheelCallbacks = new EnumMap<>(MouseWheelInputType.class);
+    this.frame = 0;
+
+    for (KeyInputType type : KeyInputType.values()) {
+      keyCallbacks.put(type, event -> recordKey(type, event));
+    }
+
+    for (MouseInputType type : MouseInputType.values()) {
+      mouseCallbacks.put(type, event -> recordMouse(type, event));
+    }
+
+    for (MouseWheelInputType type : MouseWheelInputType.values()) {
+      wheelCallbacks.put(type, event -> recordWheel(type, event));
+    }
+  }
+
+  /**
+   * Writes the recording header and starts listening to input events.
+   *
+   * @throws IOException if an I/O error occurs.
+   */
+  public synchronized void start() throws IOException {
+    output.writeInt(MAGIC);
+    recording = true;
+
+    keyCallbacks.forEach(inputManager.onKeyboardEvent()::subscribe);
+    mouseCallbacks.forEach(inputManager.onMouseEvent()::subscribe);
+    wheelCallbacks.forEach(inputManager.onMouseWheelEvent()::subscribe);
+  }
+
+  /**
+   * Stops listening to input events and closes the stream.
+   *
+   * @throws IOException if an I/O error occurs.
+   */
+  public synchronized void stop() throws IOException {
+    recording = false;
+
+    keyCallbacks.forEach(inputManager.onKeyboardEvent()::unsubscribe);
+    mouseCallbacks.forEach(inputManager.onMouseEvent()::unsubscribe);
+    wheelCallbacks.forEach(inputManager.onMouseWheelEvent()::unsubscribe);
+
+    output.close();
+  }
+
+  /**
+   * Finishes the current update step. Events received from now on belong to the next step.
+   *
+   * @param deltaTime The time passed to the finished update step (in milliseconds).
+   */
+  public synchronized void nextFrame(long deltaTime) {
+    if (!recording) {
+      return;
+    }
+
+    try {
+      output.writeByte(InputRecordType.FRAME.ordinal());
+      writeVarLong(deltaTime);
+      frame += 1;
+    }
+    catch (IOException e) {
+      handleError(e);
+    }
+  }
+
+  /**
+   * Gets the number of update steps recorded so far.
+   *
+   * @return The number of recorded steps.
+   */
+  public synchronized long getFrame() {
+    return frame;
+  }
+
+  /** Writes a keyboard event. */
+  private synchronized void recordKey(KeyInputType type, KeyEvent event) {
+    if (!recording) {
+      return;
+    }
+
+    try {
+      writeHeader(InputRecordType.KEY, type.ordinal());
+      writeVarLong(event.getKeyCode());
+      writeVarLong(event.getKeyChar());
+      writeVarLong(event.getModifiersEx());
+      writeVarLong(event.getKeyLocation());
+    }
+    catch (IOException e) {
+      handleError(e);
+    }
+  }
+
+  /** Writes a mouse event. */
+  private synchronized void recordMouse(MouseInputType type, MouseEvent event) {
+    if (!recording) {
+      return;
+    }
+
+    try {
+      writeHeader(InputRecordType.MOUSE, type.ordinal());
+      writeMouseFields(event);
+    }
+    catch (IOException e) {
+      handleError(e);
+    }
+  }
+
+  /** Writes a mouse wheel event. */
+  private synchronized void recordWheel(MouseWheelInputType type, MouseWheelEvent event) {
+    if (!recording) {
+      return;
+    }
+
+    try {
+      writeHeader(InputRecordType.MOUSE_WHEEL, type.ordinal());
+      writeMouseFields(event);
+      writeVarLong(event.getScrollType());
+      writeVarLong(event.getScrollAmount());
+      writeVarLong(event.getWheelRotation());
+    }
+    catch (IOException e) {
+      handleError(e);
+    }
+  }
+
+  /** Writes the record type and the input type packed in a single byte. */
+  private void writeHeader(InputRecordType record, int inputType) throws IOException {
+    output.writeByte(record.ordinal() | (inputType << 4));
+  }
+
+  /** Writes the fields shared by mouse and mouse wheel events. */
+  private void writeMouseFields(MouseEvent event) throws IOException {
+    Vector position = canvas.pointInCanvas(Vector.fromPoint(event.getPoint()));
+
+    writeVarLong(position.getRoundX());
+    writeVarLong(position.getRoundY());
+    writeVarLong(event.getButton());
+    writeVarLong(event.getClickCount());
+    writeVarLong(event.getModifiersEx());
+  }
+
+  /**
+   * Writes a number using 1 byte per 7 bits, with zig-zag encoding so small negative numbers stay short.
+   *
+   * @param value The number to write.
+   * @throws IOException if an I/O error occurs.
+   */
+  private void writeVarLong(long value) throws IOException {
+    long zigZag = (value << 1) ^ (value >> 63);
+
+    while ((zigZag & ~0x7FL) != 0) {
+      output.writeByte((int) ((zigZag & 0x7F) | 0x80));
+      zigZag >>>= 7;
+    }
+
+    output.writeByte((int) zigZag);
+  }
+
+  /**
+   * Stops recording after a write error, so the rest of the game keeps working.
+   *
+   * <p><b>NOTE:</b> Callbacks are not unsubscribed here, because the error may happen while the event is being emitted.
+   * They are unsubscribed by {@link #stop()}.</p>
+   */
+  private void handleError(IOException e) {
+    System.out.println("Cannot write input recording, recording stopped.");
+    e.printStackTrace();
+
+    recording = false;
+
+    try {
+      output.close();
+    }
+    catch (IOException closeError) {
+      closeError.printStackTrace();
+    }
+  }
+}
@@ -0,0 +1,235 @@
+package xyz.magicjourney.odyssey.input.replay;
+
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import xyz.magicjourney.odyssey.event.Event;
+import xyz.magicjourney.odyssey.event.EventGetter;
+import xyz.magicjourney.odyssey.input.InputManager;
+import xyz.magicjourney.odyssey.input.types.KeyInputType;
+import xyz.magicjourney.odyssey.input.types.MouseInputType;
+import xyz.magicjourney.odyssey.input.types.MouseWheelInputType;
+import xyz.magicjourney.odyssey.math.Vector;
+import xyz.magicjourney.odyssey.renderer.Canvas;
+
+/**
+ * Plays back a recording created by {@link InputRecorder}, emitting the recorded events through the {@link InputManager}.
+ *
+ * <p>Each call of {@link #nextFrame()} emits the events recorded before a single update step
+ * and returns the {@code deltaTime} of that step. Using the recorded {@code deltaTime} instead of the measured one
+ * makes the replay deterministic and independent of real time, so it can run faster than real time in headless mode.</p>
+ *
+ * <p>Mouse positions are recorded in canvas coordinates and mapped back to the current window
+ * with {@link Canvas#canvasPointToWindow}, so they hit the same elements at any window size.</p>
+ *
+ * <b>Events</b>
+ * <p>{@code onFinish} emitted when the end of the recording is reached.</p>
+ */
+public class InputReplay {
+  private static final KeyInputType[] KEY_TYPES = KeyInputType.values();
+  private static final MouseInputType[] MOUSE_TYPES = MouseInputType.values();
+  private static final MouseWheelInputType[] WHEEL_TYPES = MouseWheelInputType.values();
+  private static final InputRecordType[] RECORD_TYPES = InputRecordType.values();
+
+  private InputManager inputManager;
+  private Canvas canvas;
+  private DataInputStream input;
+  private Event finishEvent;
+  private long frame;
+  private boolean finished;
+
+  /**
+   * Constructs a replay reading the recording from the specified stream.
+   *
+   * @param inputManager The input manager through which the events are emitted.
+   * @param canvas The canvas used as the source of the emitted events, mapping mouse positions to the window.
+   * @param input The stream containing the recording. It is closed when the replay finishes.
+   * @throws IOException if an I/O error occurs or the stream does not contain an input recording.
+   */
+  public InputReplay(InputManager inputManager, Canvas canvas, InputStream input) throws IOException {
+    this.inputManager = inputManager;
+    this.canvas = canvas;
+    this.input = new DataInputStream(new BufferedInputStream(input));
+    this.finishEvent = new Event();
+    this.frame = 0;
+
+    if (this.input.readInt() != InputRecorder.MAGIC) {
+      this.input.close();
+      throw new IOException("The stream does not contain an input recording");
+    }
+  }
+
+  /**
+   * Returns an {@link EventGetter} for the "finish" event.
+   *
+   * <p>The "finish" event is emitted when the end of the recording is reached,
+   * e.g. subscribe {@code engine::close} to stop a headless regression run.</p>
+   *
+   * @return An {@link EventGetter} for the "finish" event.
+   */
+  public EventGetter onFinish() {
+    return finishEvent;
+  }
+
+  /**
+   * Emits all events recorded before the next update step.
+   *
+   * @return The recorded {@code deltaTime} of the step (in milliseconds), or -1 if the recording has finished.
+   */
+  public long nextFrame() {
+    if (finished) {
+      return -1;
+    }
+
+    try {
+      while (true) {
+        int header = input.readUnsignedByte();
+        InputRecordType record = RECORD_TYPES[header & 0x0F];
+        int type = header >>> 4;
+
+        switch (record) {
+          case FRAME -> {
+            frame += 1;
+            return readVarLong();
+          }
+          case KEY -> replayKey(KEY_TYPES[type]);
+          case MOUSE -> replayMouse(MOUSE_TYPES[type]);
+          case MOUSE_WHEEL -> replayWheel(WHEEL_TYPES[type]);
+        }
+      }
+    }
+    catch (EOFException e) {
+      finish();
+    }
+    catch (IOException e) {
+      System.out.println("Cannot read input recording, replay stopped.");
+      e.printStackTrace();
+      finish();
+    }
+
+    return -1;
+  }
+
+  /**
+   * Checks if the end of the recording was reached.
+   *
+   * @return {@code true} if the replay has finished, {@code false} otherwise.
+   */
+  public boolean isFinished() {
+    return finished;
+  }
+
+  /**
+   * Gets the number of update steps replayed so far.
+   *
+   * @return The number of replayed steps.
+   */
+  public long getFrame() {
+    return frame;
+  }
+
+  /** Reads and emits a keyboard event. */
+  private void replayKey(KeyInputType type) throws IOException {
+    int keyCode = (int) readVarLong();
+    char keyChar = (char) readVarLong();
+    int modifiers = (int) readVarLong();
+    int location = (int) readVarLong();
+    int id = switch (type) {
+      case PRESS -> KeyEvent.KEY_PRESSED;
+      case RELEASE -> KeyEvent.KEY_RELEASED;
+      case TYPE -> KeyEvent.KEY_TYPED;
+    };
+
+    inputManager.emitKeyboardEvent(type, new KeyEvent(canvas, id, frame, modifiers, keyCode, keyChar, location));
+  }
+
+  /** Reads and emits a mouse event. */
+  private void replayMouse(MouseInputType type) throws IOException {
+    Vector position = readPosition();
+    int x = position.getRoundX();
+    int y = position.getRoundY();
+    int button = (int) readVarLong();
+    int clickCount = (int) readVarLong();
+    int modifiers = (int) readVarLong();
+    int id = switch (type) {
+      case CLICK -> MouseEvent.MOUSE_CLICKED;
+      case MOVE -> MouseEvent.MOUSE_MOVED;
+      case BTN_DOWN -> MouseEvent.MOUSE_PRESSED;
+      case BTN_UP -> MouseEvent.MOUSE_RELEASED;
+      case ENTER -> MouseEvent.MOUSE_ENTERED;
+      case EXIT -> MouseEvent.MOUSE_EXITED;
+      case DRAG -> MouseEvent.MOUSE_DRAGGED;
+    };
+
+    inputManager.emitMouseEvent(type, new MouseEvent(canvas, id, frame, modifiers, x, y, clickCount, false, button));
+  }
+
+  /** Reads and emits a mouse wheel event. */
+  private void replayWheel(MouseWheelInputType type) throws IOException {
+    Vector position = readPosition();
+    int x = position.getRoundX();
+    int y = position.getRoundY();
+    readVarLong();
+    int clickCount = (int) readVarLong();
+    int modifiers = (int) readVarLong();
+    int scrollType = (int) readVarLong();
+    int scrollAmount = (int) readVarLong();
+    int wheelRotation = (int) readVarLong();
+    MouseWheelEvent event = new MouseWheelEvent(canvas, MouseEvent.MOUSE_WHEEL, frame, modifiers, x, y, clickCount, false, scrollType, scrollAmount, wheelRotation);
+
+    inputManager.emitMouseWheelEvent(type, event);
+  }
+
+  /**
+   * Reads a mouse position recorded in canvas coordinates and converts it to window coordinates.
+   *
+   * @return The position in window coordinates.
+   * @throws IOException if an I/O error occurs.
+   */
+  private Vector readPosition() throws IOException {
+    double x = readVarLong();
+    double y = readVarLong();
+
+    return canvas.canvasPointToWindow(new Vector(x, y));
+  }
+
+  /**
+   * Reads a number written by {@link InputRecorder}.
+   *
+   * @return The number.
+   * @throws IOException if an I/O error occurs.
+   */
+  private long readVarLong() throws IOException {
+    long zigZag = 0;
+    int shift = 0;
+    int current;
+
+    do {
+      current = input.readUnsignedByte();
+      zigZag |= (long) (current & 0x7F) << shift;
+      shift += 7;
+    } while ((current & 0x80) != 0);
+
+    return (zigZag >>> 1) ^ -(zigZag & 1);
+  }
+
+  /** Closes the recording and notifies the subscribers. */
+  private void finish() {
+    finished = true;
+
+    try {
+      input.close();
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+    }
+
+    finishEvent.emit();
+  }
+}
@@ -0,0 +1,38 @@
+package xyz.magicjourney.odyssey.job;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represents a job submitted to the {@link JobSystem}.
+ * It can be passed as a dependency of other jobs or awaited.
+ */
+public class JobHandle {
+  CompletableFuture<Void> future;
+
+  /**
+   * Constructs a handle of the job represented by the future.
+   *
+   * @param future The future completed when the job finishes.
+   */
+  JobHandle(CompletableFuture<Void> future) {
+    this.future = future;
+  }
+
+  /**
+   * Checks if the job has finished.
+   *
+   * @return {@code true} if the job has finished (successfully or not), {@code false} otherwise.
+   */
+  public boolean isDone() {
+    return future.isDone();
+  }
+
+  /**
+   * Waits until the job finishes.
+   *
+   * <p><b>NOTE:</b> If the job fails, the exception is rethrown wrapped in a {@link java.util.concurrent.CompletionException}.</p>
+   */
+  public void await() {
+    future.join();
+  }
+}
@@ -0,0 +1,224 @@
+package xyz.magicjourney.odyssey.job;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import xyz.magicjourney.odyssey.update.Updatable;
+
+/**
+ * Runs game work in parallel on all CPU cores.
+ *
+ * <p>Jobs are executed by a work-stealing {@link ForkJoinPool}. Large batches (e.g. thousands of independent
+ * {@link Updatable} actors) are split into ranges that idle worker threads steal from each other,
+ * so the work is balanced even if some elements take longer than others.</p>
+ *
+ * <p>Each job may depend on other jobs; it starts only after all of its dependencies have finished.
+ * This allows expressing ordered work, e.g. "move all actors, then resolve collisions".</p>
+ *
+ * <p>The engine waits for all jobs submitted during an update step before the next step and before drawing
+ * (see {@link #awaitAll()}), so screens can submit work and use the results in {@code draw} without synchronization.
+ * Detached jobs (see {@link #submitDetached(Runnable)}) are not waited for, they are awaited by whoever submitted them.</p>
+ *
+ * <p><b>NOTE:</b> Jobs running at the same time must not modify shared state.
+ * Every {@link Updatable} in a batch must be independent of the others.</p>
+ */
+public class JobSystem {
+  private ForkJoinPool pool;
+  private ConcurrentLinkedQueue<CompletableFuture<Void>> pending;
+  private int grainSize;
+
+  /**
+   * Constructs a job system using all but one of the available processors (at least one).
+   * The remaining processor is left for the game thread.
+   */
+  public JobSystem() {
+    this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+  }
+
+  /**
+   * Constructs a job system with the specified number of worker threads.
+   *
+   * @param parallelism The number of worker threads.
+   */
+  public JobSystem(int parallelism) {
+    this.pool = new ForkJoinPool(parallelism);
+    this.pending = new ConcurrentLinkedQueue<>();
+    this.grainSize = 64;
+  }
+
+  /**
+   * Sets the smallest number of elements processed by a single task when a range is split.
+   *
+   * <p>Smaller values balance the work better, larger ones reduce the scheduling overhead.</p>
+   *
+   * @param grainSize The minimal number of elements per task.
+   */
+  public void setGrainSize(int grainSize) {
+    this.grainSize = Math.max(1, grainSize);
+  }
+
+  /**
+   * Gets the number of worker threads.
+   *
+   * @return The number of worker threads.
+   */
+  public int getParallelism() {
+    return pool.getParallelism();
+  }
+
+  /**
+   * Submits a single job.
+   *
+   * @param job The work to perform.
+   * @param dependencies The jobs that must finish before this job starts.
+   * @return The handle of the submitted job.
+   */
+  public JobHandle submit(Runnable job, JobHandle... dependencies) {
+    CompletableFuture<Void> future;
+
+    if (dependencies.length == 0) {
+      future = CompletableFuture.runAsync(job, pool);
+    }
+    else {
+      future = allOf(dependencies).thenRunAsync(job, pool);
+    }
+
+    pending.add(future);
+
+    return new JobHandle(future);
+  }
+
+  /**
+   * Submits a single job that is not waited for by {@link #awaitAll()}.
+   *
+   * <p>Used for work started and awaited by the same call (e.g. drawing the strips of a frame), which may run
+   * outside of the update step. Its failure is rethrown only by {@link JobHandle#await()}, not again by the next update.</p>
+   *
+   * @param job The work to perform.
+   * @return The handle of the submitted job, which must be awaited by the caller.
+   */
+  public JobHandle submitDetached(Runnable job) {
+    return new JobHandle(CompletableFuture.runAsync(job, pool));
+  }
+
+  /**
+   * Submits a job performing the task on the range [from, to), split into parts processed in parallel.
+   *
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   * @param task The work performed on each part of the range.
+   * @param dependencies The jobs that must finish before this job starts.
+   * @return The handle of the submitted job.
+   */
+  public JobHandle parallelFor(int from, int to, RangeTask task, JobHandle... dependencies) {
+    int grain = grainSize;
+
+    return submit(() -> new RangeAction(from, to, grain, task).invoke(), dependencies);
+  }
+
+  /**
+   * Submits a job performing the task on the range [from, to) in parallel, that is not waited for by {@link #awaitAll()}.
+   *
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   * @param task The work performed on each part of the range.
+   * @return The handle of the submitted job, which must be awaited by the caller.
+   *
+   * @see #submitDetached(Runnable)
+   */
+  public JobHandle parallelForDetached(int from, int to, RangeTask task) {
+    int grain = grainSize;
+
+    return submitDetached(() -> new RangeAction(from, to, grain, task).invoke());
+  }
+
+  /**
+   * Submits a job updating all elements of the list in parallel.
+   *
+   * @param updatables The independent elements to update.
+   * @param deltaTime The time passed since the last update (in milliseconds).
+   * @param dependencies The jobs that must finish before this job starts.
+   * @return The handle of the submitted job.
+   */
+  public JobHandle update(List<? extends Updatable> updatables, long deltaTime, JobHandle... dependencies) {
+    return parallelFor(0, updatables.size(), (from, to) -> {
+      for (int i = from; i < to; i++) {
+        updatables.get(i).update(deltaTime);
+      }
+    }, dependencies);
+  }
+
+  /**
+   * Waits until all submitted jobs have finished, including the jobs submitted by other jobs in the meantime.
+   *
+   * <p>If any of the jobs failed, the first exception is rethrown after all jobs have finished.</p>
+   */
+  public void awaitAll() {
+    RuntimeException failure = null;
+    CompletableFuture<Void> future;
+
+    while ((future = pending.poll()) != null) {
+      try {
+        future.join();
+      }
+      catch (CompletionException e) {
+        if (failure == null) {
+          failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Stops the worker threads. Jobs that have already been submitted are still executed.
+   */
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  /** Creates a future completed when all the jobs finish. */
+  private static CompletableFuture<Void> allOf(JobHandle[] dependencies) {
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[dependencies.length];
+
+    for (int i = 0; i < dependencies.length; i++) {
+      futures[i] = dependencies[i].future;
+    }
+
+    return CompletableFuture.allOf(futures);
+  }
+
+  /** Splits a range in halves until it is smaller than the grain size, so idle workers can steal the halves. */
+  private static class RangeAction extends RecursiveAction {
+    private int from;
+    private int to;
+    private int grain;
+    private RangeTask task;
+
+    private RangeAction(int from, int to, int grain, RangeTask task) {
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+      this.task = task;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= grain) {
+        task.run(from, to);
+        return;
+      }
+
+      int middle = (from + to) >>> 1;
+
+      invokeAll(new RangeAction(from, middle, grain, task), new RangeAction(middle, to, grain, task));
+    }
+  }
+}
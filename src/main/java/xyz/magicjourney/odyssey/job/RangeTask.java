@@ -0,0 +1,15 @@
+package xyz.magicjourney.odyssey.job;
+
+/**
+ * Functional interface representing work performed on a range of indices, e.g. a part of an array.
+ */
+@FunctionalInterface
+public interface RangeTask {
+  /**
+   * Performs the work for indices in range [from, to).
+   *
+   * @param from The first index (inclusive).
+   * @param to   The last index (exclusive).
+   */
+  void run(int from, int to);
+}
@@ -0,0 +1,19 @@
+package xyz.magicjourney.odyssey.loop;
+
+/**
+ * Source of time for the game loop.
+ *
+ * @see SystemClock
+ * @see SimulatedClock
+ */
+public interface Clock {
+  /**
+   * Gets the current time of the clock.
+   *
+   * <p><b>NOTE:</b> Similarly to {@link System#nanoTime()}, the value is only meaningful
+   * when compared with other values of the same clock.</p>
+   *
+   * @return The current time in nanoseconds.
+   */
+  long nanoTime();
+}
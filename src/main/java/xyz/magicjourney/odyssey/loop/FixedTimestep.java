@@ -0,0 +1,115 @@
+package xyz.magicjourney.odyssey.loop;
+
+/**
+ * Accumulator driving fixed-rate simulation updates.
+ *
+ * <p>Real time measured with {@link System#nanoTime()} is collected in an accumulator and consumed in constant steps,
+ * so the simulation advances the same way regardless of the frame rate. The unconsumed part of a step is exposed
+ * as an interpolation factor (alpha) that can be used to blend between the last two simulation states while drawing.</p>
+ *
+ * <p><b>Spiral of death:</b> When a frame takes longer than the updates it has to catch up on, the number of steps
+ * grows with every frame until the game freezes. To prevent this, the number of steps per frame is capped
+ * and the excess time is dropped, so the simulation slows down instead.</p>
+ */
+public class FixedTimestep {
+  private long stepMillis;
+  private long stepNanos;
+  private int maxStepsPerFrame;
+  private long accumulator;
+  private long lastTime;
+  private long droppedSteps;
+
+  /**
+   * Constructs a fixed timestep accumulator.
+   *
+   * @param stepMillis       The duration of a single update step in milliseconds.
+   * @param maxStepsPerFrame The maximal number of update steps performed in a single frame.
+   */
+  public FixedTimestep(long stepMillis, int maxStepsPerFrame) {
+    if (stepMillis <= 0) {
+      throw new IllegalArgumentException("Step duration must be positive, got " + stepMillis);
+    }
+
+    if (maxStepsPerFrame <= 0) {
+      throw new IllegalArgumentException("Max steps per frame must be positive, got " + maxStepsPerFrame);
+    }
+
+    this.stepMillis = stepMillis;
+    this.stepNanos = stepMillis * 1_000_000;
+    this.maxStepsPerFrame = maxStepsPerFrame;
+    this.reset(System.nanoTime());
+  }
+
+  /**
+   * Clears the accumulated time and starts measuring from the given timestamp.
+   *
+   * @param now The current time in nanoseconds (see {@link System#nanoTime()}).
+   */
+  public void reset(long now) {
+    this.lastTime = now;
+    this.accumulator = 0;
+  }
+
+  /**
+   * Accumulates the time elapsed since the previous call and calculates how many update steps should be performed.
+   *
+   * <p><b>NOTE:</b> If more than {@code maxStepsPerFrame} steps are pending, the surplus is dropped
+   * and only the fraction of a step is kept for the interpolation.</p>
+   *
+   * @param now The current time in nanoseconds (see {@link System#nanoTime()}).
+   * @return The number of update steps to perform in this frame.
+   */
+  public int advance(long now) {
+    accumulator += now - lastTime;
+    lastTime = now;
+
+    long steps = accumulator / stepNanos;
+
+    if (steps > maxStepsPerFrame) {
+      droppedSteps += steps - maxStepsPerFrame;
+      accumulator %= stepNanos;
+
+      return maxStepsPerFrame;
+    }
+
+    accumulator -= steps * stepNanos;
+
+    return (int) steps;
+  }
+
+  /**
+   * Gets the interpolation factor between the previous and the current simulation state.
+   *
+   * @return The fraction of the step that has not been simulated yet, in range [0, 1).
+   */
+  public double getAlpha() {
+    return (double) accumulator / stepNanos;
+  }
+
+  /**
+   * Gets the duration of a single update step.
+   *
+   * @return The step duration in milliseconds.
+   */
+  public long getStepMillis() {
+    return stepMillis;
+  }
+
+  /**
+   * Gets the maximal number of update steps performed in a single frame.
+   *
+   * @return The maximal number of steps per frame.
+   */
+  public int getMaxStepsPerFrame() {
+    return maxStepsPerFrame;
+  }
+
+  /**
+   * Gets the number of update steps dropped because the simulation could not keep up.
+   *
+   * @return The total number of dropped steps.
+   */
+  public long getDroppedSteps() {
+    return droppedSteps;
+  }
+}
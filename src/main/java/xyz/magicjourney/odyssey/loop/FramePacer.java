@@ -0,0 +1,212 @@
+package xyz.magicjourney.odyssey.loop;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limits the frame rate of the game loop to a target value.
+ *
+ * <p>Waiting is done in two phases: the thread is first parked for most of the remaining time (coarse wait),
+ * and then it spins with {@link Thread#onSpinWait()} for the last {@code spinThreshold} nanoseconds (fine wait).
+ * Parking frees the CPU core for other threads (e.g. resource loading or the AWT event thread),
+ * while spinning compensates the poor wake-up accuracy of the operating system scheduler.</p>
+ *
+ * <p>The difference between the planned and the actual end of each wait is measured as the pacing error,
+ * so the spin threshold can be tuned for the target machine.</p>
+ */
+public class FramePacer {
+  private volatile long frameNanos;
+  private volatile long spinThresholdNanos;
+  private long nextDeadline;
+
+  private long lastError;
+  private long maxError;
+  private long totalError;
+  private long pacedFrames;
+  private long missedFrames;
+
+  /**
+   * Constructs a frame pacer with the specified target frame rate.
+   *
+   * @param targetFrameRate The target number of frames per second, or 0 for an uncapped frame rate.
+   */
+  public FramePacer(int targetFrameRate) {
+    this.spinThresholdNanos = 2_000_000;
+    this.setTargetFrameRate(targetFrameRate);
+    this.reset(System.nanoTime());
+  }
+
+  /**
+   * Sets the target frame rate.
+   *
+   * @param targetFrameRate The target number of frames per second, or 0 for an uncapped frame rate (benchmarking).
+   */
+  public void setTargetFrameRate(int targetFrameRate) {
+    if (targetFrameRate < 0) {
+      throw new IllegalArgumentException("Target frame rate cannot be negative, got " + targetFrameRate);
+    }
+
+    this.frameNanos = targetFrameRate == 0 ? 0 : 1_000_000_000L / targetFrameRate;
+  }
+
+  /**
+   * Gets the target frame rate.
+   *
+   * @return The target number of frames per second, or 0 if the frame rate is uncapped.
+   */
+  public int getTargetFrameRate() {
+    long frame = frameNanos;
+
+    return frame == 0 ? 0 : (int) Math.round(1_000_000_000.0 / frame);
+  }
+
+  /**
+   * Checks if the frame rate is uncapped.
+   *
+   * @return {@code true} if frames are not limited, {@code false} otherwise.
+   */
+  public boolean isUncapped() {
+    return frameNanos == 0;
+  }
+
+  /**
+   * Sets the time before the deadline at which the pacer stops parking the thread and starts spinning.
+   *
+   * <p>Higher values give better accuracy at the cost of CPU usage.
+   * Compare {@link #getAverageError()} for different values to find the best one.</p>
+   *
+   * @param spinThresholdNanos The spinning time in nanoseconds.
+   */
+  public void setSpinThreshold(long spinThresholdNanos) {
+    this.spinThresholdNanos = Math.max(0, spinThresholdNanos);
+  }
+
+  /**
+   * Gets the time before the deadline at which the pacer starts spinning.
+   *
+   * @return The spinning time in nanoseconds.
+   */
+  public long getSpinThreshold() {
+    return spinThresholdNanos;
+  }
+
+  /**
+   * Plans the end of the next frame relative to the given timestamp.
+   *
+   * @param now The current time in nanoseconds (see {@link System#nanoTime()}).
+   */
+  public void reset(long now) {
+    this.nextDeadline = now + frameNanos;
+  }
+
+  /**
+   * Blocks the calling thread until the end of the current frame.
+   *
+   * <p><b>NOTE:</b> If the frame already took longer than planned, the method returns immediately
+   * and the next frame is planned relative to the current time, so the loop does not try to run
+   * a burst of frames to catch up.</p>
+   */
+  public void waitForNextFrame() {
+    long frame = frameNanos;
+
+    if (frame == 0) {
+      return;
+    }
+
+    long deadline = nextDeadline;
+    long now = System.nanoTime();
+
+    if (now >= deadline) {
+      missedFrames += 1;
+      reset(now);
+      return;
+    }
+
+    waitUntil(deadline);
+    now = System.nanoTime();
+
+    recordError(now - deadline);
+    nextDeadline = deadline + frame;
+
+    if (nextDeadline <= now) {
+      reset(now);
+    }
+  }
+
+  /**
+   * Parks the thread until shortly before the deadline and spins for the rest of the time.
+   *
+   * @param deadline The end of the wait in nanoseconds (see {@link System#nanoTime()}).
+   */
+  private void waitUntil(long deadline) {
+    long threshold = spinThresholdNanos;
+    long remaining = deadline - System.nanoTime();
+
+    while (remaining > threshold) {
+      LockSupport.parkNanos(remaining - threshold);
+      remaining = deadline - System.nanoTime();
+    }
+
+    while (System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Stores the pacing error of the last wait.
+   *
+   * @param error The difference between the actual and planned end of the wait in nanoseconds.
+   */
+  private void recordError(long error) {
+    lastError = error;
+    maxError = Math.max(maxError, error);
+    totalError += error;
+    pacedFrames += 1;
+  }
+
+  /**
+   * Gets the pacing error of the last frame.
+   *
+   * @return The delay of the last wake-up in nanoseconds.
+   */
+  public long getLastError() {
+    return lastError;
+  }
+
+  /**
+   * Gets the highest pacing error measured since the last statistics reset.
+   *
+   * @return The maximal delay of a wake-up in nanoseconds.
+   */
+  public long getMaxError() {
+    return maxError;
+  }
+
+  /**
+   * Gets the average pacing error measured since the last statistics reset.
+   *
+   * @return The average delay of a wake-up in nanoseconds.
+   */
+  public double getAverageError() {
+    return pacedFrames == 0 ? 0 : (double) totalError / pacedFrames;
+  }
+
+  /**
+   * Gets the number of frames that took longer than the target frame duration, so no waiting was possible.
+   *
+   * @return The number of missed frames since the last statistics reset.
+   */
+  public long getMissedFrames() {
+    return missedFrames;
+  }
+
+  /**
+   * Clears the measured pacing errors and the missed frames counter.
+   */
+  public void resetStatistics() {
+    lastError = 0;
+    maxError = 0;
+    totalError = 0;
+    pacedFrames = 0;
+    missedFrames = 0;
+  }
+}
@@ -0,0 +1,32 @@
+package xyz.magicjourney.odyssey.loop;
+
+/**
+ * Clock that only moves forward when it is advanced manually.
+ *
+ * <p>Used to run the game loop "as fast as possible" (e.g. in headless mode), where each frame
+ * pretends that a constant amount of time has passed, regardless of how long it really took.</p>
+ */
+public class SimulatedClock implements Clock {
+  private long time;
+
+  /**
+   * Constructs a simulated clock starting at 0.
+   */
+  public SimulatedClock() {
+    this.time = 0;
+  }
+
+  /**
+   * Moves the clock forward.
+   *
+   * @param nanos The amount of time to add, in nanoseconds.
+   */
+  public void advance(long nanos) {
+    this.time += nanos;
+  }
+
+  @Override
+  public long nanoTime() {
+    return time;
+  }
+}
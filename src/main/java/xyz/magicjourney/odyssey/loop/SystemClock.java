@@ -0,0 +1,11 @@
+package xyz.magicjourney.odyssey.loop;
+
+/**
+ * Real time clock based on {@link System#nanoTime()}.
+ */
+public class SystemClock implements Clock {
+  @Override
+  public long nanoTime() {
+    return System.nanoTime();
+  }
+}
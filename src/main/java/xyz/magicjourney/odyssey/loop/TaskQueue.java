@@ -0,0 +1,113 @@
+package xyz.magicjourney.odyssey.loop;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock-free queue of tasks that any thread can add to, executed later by a single thread (e.g. the game thread).
+ *
+ * <p>Adding a task is a single atomic swap, so producers (like the AWT Event Dispatch Thread) never block
+ * and never wait for the consumer. The consumer runs the queued tasks with {@code drain}, without any locking.</p>
+ *
+ * <p><b>WHY?</b> Game state is modified only by the game thread, so it doesn't need any synchronization.
+ * Other threads pass their changes to it as tasks instead of modifying the state directly.</p>
+ *
+ * <p><b>NOTE:</b> Only one thread at a time may call {@code drain}.</p>
+ */
+public class TaskQueue implements Executor {
+  // The most recently added node, swapped by producers.
+  private AtomicReference<Node> head;
+
+  // The last consumed node (initially an empty stub), owned by the consumer.
+  private Node tail;
+
+  public TaskQueue() {
+    Node stub = new Node(null);
+
+    this.head = new AtomicReference<>(stub);
+    this.tail = stub;
+  }
+
+  /**
+   * Adds the task to the queue. Can be called from any thread.
+   *
+   * @param task The task to run on the consumer thread.
+   */
+  public void add(Runnable task) {
+    if (task == null) {
+      throw new IllegalArgumentException("Task cannot be null");
+    }
+
+    Node node = new Node(task);
+    Node previous = head.getAndSet(node);
+
+    previous.next = node;
+  }
+
+  /**
+   * Same as {@code add}, allows using the queue as an {@link Executor}.
+   *
+   * @param task The task to run on the consumer thread.
+   */
+  @Override
+  public void execute(Runnable task) {
+    add(task);
+  }
+
+  /**
+   * Checks if there are no tasks waiting in the queue.
+   *
+   * @return {@code true} if the queue is empty, {@code false} otherwise.
+   */
+  public boolean isEmpty() {
+    return head.get() == tail;
+  }
+
+  /**
+   * Runs all tasks that were added before this call, in the order they were added.
+   *
+   * <p>Tasks added while draining (also by the tasks themselves) are left for the next call,
+   * so a task re-adding itself cannot block the frame. A task throwing an exception doesn't stop other tasks.</p>
+   *
+   * @return The number of tasks executed.
+   */
+  public int drain() {
+    Node last = head.get();
+    int count = 0;
+
+    while (tail != last) {
+      Node next = tail.next;
+
+      // A producer has already swapped the head, but hasn't linked its node yet.
+      if (next == null) {
+        Thread.onSpinWait();
+        continue;
+      }
+
+      Runnable task = next.task;
+
+      next.task = null;
+      tail = next;
+      count++;
+
+      try {
+        task.run();
+      }
+      catch (RuntimeException e) {
+        e.printStackTrace();
+      }
+    }
+
+    return count;
+  }
+
+  /** A single element of the linked list. */
+  private static class Node {
+    private Runnable task;
+    private volatile Node next;
+
+    private Node(Runnable task) {
+      this.task = task;
+    }
+  }
+}
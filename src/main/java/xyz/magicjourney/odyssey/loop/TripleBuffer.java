@@ -0,0 +1,87 @@
+package xyz.magicjourney.odyssey.loop;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free triple buffer for handing over data from a single producer thread to a single consumer thread.
+ *
+ * <p>The producer owns the write buffer and the consumer owns the read buffer. The third buffer sits between them
+ * and holds the newest completed state. Publishing and reading only swap buffer indices with a single atomic operation,
+ * so neither side ever waits for the other; the consumer always gets the newest published state,
+ * and states published in the meantime are skipped.</p>
+ *
+ * @param <T> The type of the buffered data.
+ */
+public class TripleBuffer<T> {
+  private static final int INDEX_MASK = 0b011;
+  private static final int FRESH = 0b100;
+
+  private Object[] buffers;
+  private AtomicInteger middle;
+  private int back;
+  private int front;
+
+  /**
+   * Constructs a triple buffer, creating its three buffers with the given factory.
+   *
+   * @param factory The function creating a single buffer.
+   */
+  public TripleBuffer(Supplier<T> factory) {
+    this.buffers = new Object[] { factory.get(), factory.get(), factory.get() };
+    this.back = 0;
+    this.middle = new AtomicInteger(1);
+    this.front = 2;
+  }
+
+  /**
+   * Gets the buffer owned by the producer.
+   *
+   * <p><b>NOTE:</b> It can only be used by the producer thread.</p>
+   *
+   * @return The buffer to write to.
+   */
+  @SuppressWarnings("unchecked")
+  public T getWriteBuffer() {
+    return (T) buffers[back];
+  }
+
+  /**
+   * Publishes the write buffer as the newest completed state and takes over another buffer for writing.
+   *
+   * <p><b>NOTE:</b> It can only be used by the producer thread. The new write buffer contains
+   * an older state, so it has to be overwritten completely.</p>
+   */
+  public void publish() {
+    back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+  }
+
+  /**
+   * Takes over the newest published state for reading, if anything was published since the last call.
+   *
+   * <p><b>NOTE:</b> It can only be used by the consumer thread.</p>
+   *
+   * @return {@code true} if the read buffer was replaced with a newer state, {@code false} otherwise.
+   */
+  public boolean update() {
+    if ((middle.get() & FRESH) == 0) {
+      return false;
+    }
+
+    front = middle.getAndSet(front) & INDEX_MASK;
+
+    return true;
+  }
+
+  /**
+   * Gets the buffer owned by the consumer.
+   *
+   * <p><b>NOTE:</b> It can only be used by the consumer thread.</p>
+   *
+   * @return The buffer to read from.
+   */
+  @SuppressWarnings("unchecked")
+  public T getReadBuffer() {
+    return (T) buffers[front];
+  }
+}
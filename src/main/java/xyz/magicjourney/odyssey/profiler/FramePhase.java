@@ -0,0 +1,38 @@
+package xyz.magicjourney.odyssey.profiler;
+
+/**
+ * Phases of the engine work measured by the {@link FrameProfiler}.
+ */
+public enum FramePhase {
+  /**
+   * Whole frame, from the beginning of the update to the end of the present (without waiting for the next frame).
+   */
+  FRAME,
+
+  /**
+   * Updating the current screen (all update steps of a frame in the fixed timestep mode).
+   */
+  UPDATE,
+
+  /**
+   * Drawing the current screen on the renderer buffer.
+   */
+  DRAW,
+
+  /**
+   * Putting the finished frame on the screen.
+   *
+   * <p><b>NOTE:</b> With a separate render thread, it is measured on the render thread.</p>
+   */
+  PRESENT,
+
+  /**
+   * Loading a single resource file by the {@code ResourceManager}.
+   */
+  RESOURCE_LOADING,
+
+  /**
+   * Unloading the previous screen and loading the next one by the {@code ScreenManager}.
+   */
+  SCREEN_SWITCH,
+}
@@ -0,0 +1,129 @@
+package xyz.magicjourney.odyssey.profiler;
+
+/**
+ * Collects timings of the engine work, grouped by {@link FramePhase}.
+ *
+ * <p>Each phase has its own {@link Histogram}, so percentiles (e.g. p50, p99) and the maximal duration
+ * can be queried from the game code at any time. Recording is cheap and allocation-free,
+ * so the profiler can stay enabled in production builds.</p>
+ *
+ * <p>Example usage: {@code profiler.getHistogram(FramePhase.DRAW).getP99()}</p>
+ *
+ * <p><b>NOTE:</b> Each phase should be recorded by a single thread.</p>
+ */
+public class FrameProfiler {
+  private Histogram[] histograms;
+  private volatile boolean enabled;
+
+  /**
+   * Constructs an enabled profiler with empty histograms.
+   */
+  public FrameProfiler() {
+    this.histograms = new Histogram[FramePhase.values().length];
+    this.enabled = true;
+
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = new Histogram();
+    }
+  }
+
+  /**
+   * Gets the current time used as the start of a measured span.
+   *
+   * @return The current time in nanoseconds, or 0 if the profiler is disabled.
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Records the duration of a span that began at the given time.
+   *
+   * <p>Spans started while the profiler was disabled (with the start of 0) are not recorded,
+   * so enabling the profiler in the middle of a span doesn't record the whole uptime as its duration.</p>
+   *
+   * @param phase The measured phase.
+   * @param start The start of the span returned by {@link #start()}.
+   * @return The current time, which can be used as the start of the next span.
+   */
+  public long end(FramePhase phase, long start) {
+    if (!enabled) {
+      return 0;
+    }
+
+    long now = System.nanoTime();
+
+    if (start != 0) {
+      histograms[phase.ordinal()].record(now - start);
+    }
+
+    return now;
+  }
+
+  /**
+   * Records the duration of a phase.
+   *
+   * @param phase The measured phase.
+   * @param nanos The duration in nanoseconds.
+   */
+  public void record(FramePhase phase, long nanos) {
+    if (enabled) {
+      histograms[phase.ordinal()].record(nanos);
+    }
+  }
+
+  /**
+   * Gets the histogram of the specified phase.
+   *
+   * @param phase The measured phase.
+   * @return The histogram of durations of the phase.
+   */
+  public Histogram getHistogram(FramePhase phase) {
+    return histograms[phase.ordinal()];
+  }
+
+  /**
+   * Removes all recorded timings.
+   */
+  public void reset() {
+    for (Histogram histogram : histograms) {
+      histogram.reset();
+    }
+  }
+
+  /**
+   * Enables or disables recording.
+   *
+   * @param enabled {@code true} to record timings, {@code false} otherwise.
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Checks if recording is enabled.
+   *
+   * @return {@code true} if timings are recorded, {@code false} otherwise.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Creates a readable summary of all phases, e.g. for logging.
+   *
+   * @return Text with the count, p50, p99 and max (in microseconds) of each phase.
+   */
+  public String summary() {
+    StringBuilder builder = new StringBuilder();
+
+    for (FramePhase phase : FramePhase.values()) {
+      Histogram histogram = getHistogram(phase);
+
+      builder.append(String.format("%-16s n=%-8d p50=%8.1fus p99=%8.1fus max=%8.1fus%n",
+        phase, histogram.getCount(), histogram.getP50() / 1000.0, histogram.getP99() / 1000.0, histogram.getMax() / 1000.0));
+    }
+
+    return builder.toString();
+  }
+}
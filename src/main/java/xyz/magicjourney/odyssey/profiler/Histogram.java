@@ -0,0 +1,175 @@
+package xyz.magicjourney.odyssey.profiler;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free histogram of durations in nanoseconds.
+ *
+ * <p>Values are counted in log-linear buckets: every power of two is split into 16 equal buckets,
+ * so the relative error of reported percentiles is below 6.25% for any value, while the whole histogram
+ * takes a fixed array of 960 counters. Recording a value is a few arithmetic operations and never allocates.</p>
+ *
+ * <p><b>NOTE:</b> The histogram is meant to be written by a single thread. Reading it from another thread
+ * is safe but may return slightly outdated results.</p>
+ */
+public class Histogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private long[] counts;
+  private long count;
+  private long total;
+  private long min;
+  private long max;
+
+  /**
+   * Constructs an empty histogram.
+   */
+  public Histogram() {
+    this.counts = new long[BUCKETS];
+    this.reset();
+  }
+
+  /**
+   * Records a single value.
+   *
+   * @param nanos The duration in nanoseconds. Negative values are recorded as 0.
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+
+    counts[bucketOf(value)] += 1;
+    count += 1;
+    total += value;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  /**
+   * Removes all recorded values.
+   */
+  public void reset() {
+    Arrays.fill(counts, 0);
+    count = 0;
+    total = 0;
+    min = Long.MAX_VALUE;
+    max = 0;
+  }
+
+  /**
+   * Gets the number of recorded values.
+   *
+   * @return The number of recorded values.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the smallest recorded value.
+   *
+   * @return The minimal duration in nanoseconds, or 0 if nothing was recorded.
+   */
+  public long getMin() {
+    return count == 0 ? 0 : min;
+  }
+
+  /**
+   * Gets the largest recorded value.
+   *
+   * @return The maximal duration in nanoseconds.
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Gets the average of the recorded values.
+   *
+   * @return The mean duration in nanoseconds, or 0 if nothing was recorded.
+   */
+  public double getMean() {
+    return count == 0 ? 0 : (double) total / count;
+  }
+
+  /**
+   * Gets the median of the recorded values.
+   *
+   * @return The 50th percentile in nanoseconds.
+   */
+  public long getP50() {
+    return getPercentile(50);
+  }
+
+  /**
+   * Gets the 99th percentile of the recorded values.
+   *
+   * @return The 99th percentile in nanoseconds.
+   */
+  public long getP99() {
+    return getPercentile(99);
+  }
+
+  /**
+   * Gets the value below which the given percentage of the recorded values falls.
+   *
+   * <p>The result is the upper bound of the bucket containing the percentile, limited by the maximal recorded value.</p>
+   *
+   * @param percentile The percentile in range [0, 100].
+   * @return The percentile in nanoseconds, or 0 if nothing was recorded.
+   */
+  public long getPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(Math.clamp(percentile, 0, 100) / 100 * count));
+    long seen = 0;
+
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i), max);
+      }
+    }
+
+    return max;
+  }
+
+  /**
+   * Calculates the index of the bucket for the given value.
+   *
+   * @param value The non-negative value.
+   * @return The bucket index.
+   */
+  private static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * Calculates the largest value that falls into the given bucket.
+   *
+   * @param bucket The bucket index.
+   * @return The upper bound of the bucket.
+   */
+  private static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long subBucket = bucket % SUB_BUCKETS;
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+
+    return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+  }
+}
@@ -0,0 +1,21 @@
+package xyz.magicjourney.odyssey.renderer;
+
+/**
+ * Defines how the {@link PixelBuffer} combines drawn pixels with the existing ones.
+ */
+public enum BlendMode {
+  /**
+   * The drawn pixels replace the existing ones, ignoring their alpha.
+   */
+  OPAQUE,
+
+  /**
+   * The drawn pixels are blended over the existing ones by their alpha.
+   */
+  ALPHA,
+
+  /**
+   * The drawn pixels, weighted by their alpha, are added to the existing ones, so overlapping pixels get brighter.
+   */
+  ADDITIVE
+}
@@ -0,0 +1,28 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import java.awt.Rectangle;
+
+/**
+ * Represents a drawable object that knows which area of the canvas it covers and when its appearance changes.
+ *
+ * <p>Used by the renderer in dirty region mode to redraw only the parts of the canvas that have changed
+ * (see {@link Renderer#useDirtyRegions(boolean)}).</p>
+ */
+public interface Bounded extends Drawable {
+  /**
+   * Gets the area covered by the object, in canvas coordinates.
+   *
+   * @return The bounds of the object.
+   */
+  Rectangle getBounds();
+
+  /**
+   * Gets the version of the object appearance.
+   *
+   * <p>It must change whenever the object would be drawn differently (e.g. its color, text or position has changed),
+   * otherwise the change might not be visible.</p>
+   *
+   * @return The version of the object appearance.
+   */
+  long getVersion();
+}
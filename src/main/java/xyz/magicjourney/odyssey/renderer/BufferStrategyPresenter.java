@@ -0,0 +1,189 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+import javax.swing.SwingUtilities;
+
+import xyz.magicjourney.odyssey.math.Vector;
+
+/**
+ * Presents frames with active rendering: page flipping through a {@link BufferStrategy} of a heavyweight AWT canvas.
+ *
+ * <p>The frame is first uploaded 1:1 into a {@link VolatileImage} kept in video memory, which is then stretched
+ * onto the back buffer of the strategy and shown. Stretching and flipping are hardware accelerated on most platforms,
+ * unlike drawing a system memory image with {@code getGraphics()} (see {@link PanelPresenter}).</p>
+ *
+ * <p>Video memory can be lost at any time (e.g. when the display mode changes or the screen is locked),
+ * so both the volatile image and the strategy buffers are validated and the frame is redrawn until it is shown intact.</p>
+ *
+ * <p><b>NOTE:</b> The AWT canvas covers the whole game canvas, so input events are received by it instead
+ * of the game canvas. Observe it with {@link xyz.magicjourney.odyssey.input.InputManager#observe} (see {@code getSurface}).</p>
+ *
+ * <p>The surface is added to and removed from the canvas on the AWT Event Dispatch Thread, because Swing components
+ * must not be modified by other threads (e.g. the render thread). Until it's displayed, frames are skipped.</p>
+ */
+public class BufferStrategyPresenter implements Presenter {
+  private Canvas canvas;
+  private java.awt.Canvas surface;
+  private BufferStrategy strategy;
+  private VolatileImage backBuffer;
+  private int bufferCount;
+
+  /**
+   * Constructs a presenter with double buffering, adding its drawing surface to the specified canvas.
+   *
+   * @param canvas The canvas to present frames on.
+   */
+  public BufferStrategyPresenter(Canvas canvas) {
+    this(canvas, 2);
+  }
+
+  /**
+   * Constructs a presenter adding its drawing surface to the specified canvas.
+   *
+   * @param canvas The canvas to present frames on.
+   * @param bufferCount The number of buffers of the strategy (2 for double buffering, 3 for triple buffering).
+   */
+  public BufferStrategyPresenter(Canvas canvas, int bufferCount) {
+    if (bufferCount < 2) {
+      throw new IllegalArgumentException("Buffer strategy needs at least 2 buffers");
+    }
+
+    this.canvas = canvas;
+    this.bufferCount = bufferCount;
+    this.surface = new java.awt.Canvas();
+    this.surface.setIgnoreRepaint(true);
+    this.surface.setBackground(Color.BLACK);
+    this.surface.setFocusable(true);
+
+    SwingUtilities.invokeLater(() -> {
+      canvas.setLayout(new BorderLayout());
+      canvas.add(surface, BorderLayout.CENTER);
+      canvas.revalidate();
+    });
+  }
+
+  /**
+   * Gets the heavyweight component the frames are drawn on.
+   *
+   * @return The drawing surface.
+   */
+  public java.awt.Canvas getSurface() {
+    return surface;
+  }
+
+  @Override
+  public void present(BufferedImage frame) {
+    present(frame, frame.getWidth(), frame.getHeight());
+  }
+
+  @Override
+  public void present(BufferedImage frame, int width, int height) {
+    // The strategy can be created only when the surface is displayed.
+    if (strategy == null && !createStrategy()) {
+      return;
+    }
+
+    Vector topLeftCorner = canvas.canvasPointToWindow(new Vector(0));
+    int x = topLeftCorner.getRoundX();
+    int y = topLeftCorner.getRoundY();
+
+    do {
+      do {
+        VolatileImage image = validateBackBuffer(frame);
+
+        if (image == null) {
+          return;
+        }
+
+        Graphics2D upload = image.createGraphics();
+
+        upload.drawImage(frame, 0, 0, width, height, 0, 0, width, height, null);
+        upload.dispose();
+
+        Graphics screen = strategy.getDrawGraphics();
+
+        canvas.drawBorder(screen);
+        screen.drawImage(image, x, y, x + canvas.getCanvasWidth(), y + canvas.getCanvasHeight(), 0, 0, width, height, null);
+        screen.dispose();
+      } while (strategy.contentsRestored() || backBuffer.contentsLost());
+
+      strategy.show();
+    } while (strategy.contentsLost());
+
+    // Flushes the drawing commands, otherwise some platforms (e.g. Linux) show frames in bursts.
+    Toolkit.getDefaultToolkit().sync();
+  }
+
+  /**
+   * Removes the drawing surface from the canvas and releases the video memory.
+   */
+  public void dispose() {
+    if (strategy != null) {
+      strategy.dispose();
+      strategy = null;
+    }
+
+    if (backBuffer != null) {
+      backBuffer.flush();
+      backBuffer = null;
+    }
+
+    SwingUtilities.invokeLater(() -> {
+      canvas.remove(surface);
+      canvas.revalidate();
+    });
+  }
+
+  /**
+   * Creates the buffer strategy if the surface is displayed.
+   *
+   * @return {@code true} if the strategy was created, {@code false} if the surface is not displayed yet.
+   */
+  private boolean createStrategy() {
+    if (!surface.isDisplayable()) {
+      return false;
+    }
+
+    surface.createBufferStrategy(bufferCount);
+    strategy = surface.getBufferStrategy();
+    SwingUtilities.invokeLater(surface::requestFocusInWindow);
+
+    return true;
+  }
+
+  /**
+   * Makes sure the volatile back buffer exists, is compatible with the current screen and is large enough for the frame.
+   *
+   * @param frame The frame to upload.
+   * @return The valid back buffer, or null if the surface is no longer displayed.
+   */
+  private VolatileImage validateBackBuffer(BufferedImage frame) {
+    GraphicsConfiguration configuration = surface.getGraphicsConfiguration();
+
+    if (configuration == null) {
+      return null;
+    }
+
+    boolean tooSmall = backBuffer != null
+      && (backBuffer.getWidth() < frame.getWidth() || backBuffer.getHeight() < frame.getHeight());
+
+    if (backBuffer == null || tooSmall || backBuffer.validate(configuration) == VolatileImage.IMAGE_INCOMPATIBLE) {
+      if (backBuffer != null) {
+        backBuffer.flush();
+      }
+
+      backBuffer = configuration.createCompatibleVolatileImage(frame.getWidth(), frame.getHeight());
+    }
+
+    return backBuffer;
+  }
+}
@@ -1,9 +1,14 @@
 package xyz.magicjourney.odyssey.renderer;
 
+import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Shape;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 
 import xyz.magicjourney.odyssey.input.InputManager;
 import xyz.magicjourney.odyssey.input.types.KeyInputType;
@@ -21,8 +26,16 @@ import xyz.magicjourney.odyssey.update.Updatable;
  * <p>Imagine having a piece of paper (representing the entire game map) and a camera-equipped phone. Initially, the phone's screen displays only a portion of the paper.
  * However, as you move the paper to the left, the phone's screen updates to reveal the previously hidden right portion of the paper. The camera class replicates this behavior 
  * in a virtual environment.</p>
+ *
+ * <p>The camera works in one of two modes (see {@link CameraMode}). In {@code BUFFERED} mode, objects are rendered
+ * into a buffer of the world size with {@link #render}. In {@code DIRECT} mode, objects are added to the camera
+ * with {@link #add} and drawn straight onto the canvas every frame until they are removed, transformed by the camera
+ * position and zoom, skipping those outside the visible area.</p>
+ *
+ * <p><b>WHY?</b> Rendering into the buffer draws the object once and forgets it, while adding keeps a reference.
+ * Separate methods keep code written for one mode (e.g. rendering every frame) from leaking objects in the other.</p>
  */
-public class Camera implements Drawable, Updatable {
+public class Camera implements Preparable, Updatable {
   protected float zoom;
   protected Vector position;
   protected Canvas canvas;
@@ -32,6 +45,13 @@ public class Camera implements Drawable, Updatable {
   protected Vector movementDirection;
   protected double cameraSpeed;
   protected float zoomSpeed;
+  protected CameraMode mode;
+  protected int worldWidth;
+  protected int worldHeight;
+  protected ArrayList<Drawable> renderedObjects;
+  protected int culledObjects;
+  protected ScaledImageCache scaledImages;
+  protected long bufferVersion;
 
  /**
    * Creates a new Camera instance.
@@ -48,11 +68,34 @@ public class Camera implements Drawable, Updatable {
    * @param bufferHeight The height of the camera buffer.
    */
   public Camera(Canvas canvas, InputManager inputManager, int bufferWidth, int bufferHeight) {
+    this(canvas, inputManager, bufferWidth, bufferHeight, CameraMode.BUFFERED);
+  }
+
+  /**
+   * Creates a new Camera instance working in the specified mode.
+   *
+   * <p><b>NOTE:</b> In {@code DIRECT} mode no buffer is allocated, the world size only limits the camera movement.</p>
+   *
+   * @param canvas The canvas associated with the camera.
+   * @param inputManager The input manager for handling user input.
+   * @param worldWidth The width of the world (and of the camera buffer in {@code BUFFERED} mode).
+   * @param worldHeight The height of the world (and of the camera buffer in {@code BUFFERED} mode).
+   * @param mode The way the world is drawn.
+   */
+  public Camera(Canvas canvas, InputManager inputManager, int worldWidth, int worldHeight, CameraMode mode) {
     this.canvas = canvas;
     this.inputManager = inputManager;
     this.position = new Vector();
-    this.buffer = new BufferedImage(bufferWidth, bufferHeight, BufferedImage.TYPE_INT_ARGB);
-    this.cameraContext = (Graphics2D) buffer.getGraphics();
+    this.mode = mode;
+    this.worldWidth = worldWidth;
+    this.worldHeight = worldHeight;
+    this.renderedObjects = new ArrayList<>();
+
+    if (mode == CameraMode.BUFFERED) {
+      this.buffer = new BufferedImage(worldWidth, worldHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+      this.cameraContext = (Graphics2D) buffer.getGraphics();
+    }
+
     this.movementDirection = new Vector();
     this.zoom = 1f;
     this.cameraSpeed = 0.1;
@@ -106,12 +149,63 @@ public class Camera implements Drawable, Updatable {
    * Disposes of the camera resources and unsubscribes from input events.
    */
   public void dispose() {
-    this.cameraContext.dispose();
+    if (this.cameraContext != null) {
+      this.cameraContext.dispose();
+    }
+
+    this.renderedObjects.clear();
     this.inputManager.onKeyboardEvent().unsubscribe(KeyInputType.PRESS, this::handleKeyPress);
     this.inputManager.onKeyboardEvent().unsubscribe(KeyInputType.RELEASE, this::handleKeyRelease);
     this.inputManager.onMouseWheelEvent().unsubscribe(MouseWheelInputType.SCROLL, this::zoomCamera);
   }
 
+  /**
+   * Gets the way the camera draws the world.
+   *
+   * @return The camera mode.
+   */
+  public CameraMode getMode() {
+    return mode;
+  }
+
+  /**
+   * Gets the part of the world visible on the canvas, in world coordinates.
+   *
+   * @return The visible area.
+   */
+  public Rectangle getVisibleArea() {
+    return new Rectangle(
+      position.getRoundX(),
+      position.getRoundY(),
+      (int) Math.ceil(canvas.getTargetWidth() / zoom) + 1,
+      (int) Math.ceil(canvas.getTargetHeight() / zoom) + 1
+    );
+  }
+
+  /**
+   * Sets the cache of the camera buffer scaled to the zoom levels, so in {@code BUFFERED} mode the buffer
+   * is copied 1:1 instead of being resampled every frame.
+   *
+   * <p>The cache may be shared by several cameras. When the buffer changes, it is scaled again in the background
+   * and drawn scaled in the meantime, so it is most effective for worlds rendered once or rarely.</p>
+   *
+   * @param cache The cache, or null to always draw the buffer scaled.
+   */
+  public void setScaledImageCache(ScaledImageCache cache) {
+    this.scaledImages = cache;
+  }
+
+  /**
+   * Gets the number of added objects skipped in the last frame because they were outside the visible area.
+   *
+   * <p>Objects are culled only in {@code DIRECT} mode.</p>
+   *
+   * @return The number of culled objects.
+   */
+  public int getCulledObjects() {
+    return culledObjects;
+  }
+
   /**
    * Gets the current zoom level of the camera.
    * 
@@ -146,7 +240,7 @@ public class Camera implements Drawable, Updatable {
    * @param position The new position vector.
    */
   public void setPosition(Vector position) {
-    Vector maximalPosition = new Vector(this.buffer.getWidth(), this.buffer.getHeight())
+    Vector maximalPosition = new Vector(this.worldWidth, this.worldHeight)
       .multiply(zoom)
       .subtract(new Vector(this.canvas.getCanvasWidth(), this.canvas.getCanvasHeight()))
       .abs();
@@ -165,12 +259,64 @@ public class Camera implements Drawable, Updatable {
 
 
   /**
-   * Renders the provided drawable object onto the camera buffer.
+   * Renders the provided drawable object onto the camera buffer, in {@code BUFFERED} mode.
+   *
+   * <p>The object is drawn once and not kept by the camera.</p>
    * 
    * @param object The drawable object to render.
+   * @throws IllegalStateException if the camera is in {@code DIRECT} mode (use {@link #add} instead).
    */
   public void render(Drawable object) {
+    if (mode == CameraMode.DIRECT) {
+      throw new IllegalStateException("Cannot render into a camera in DIRECT mode, add the object instead");
+    }
+
     object.draw(cameraContext, canvas);
+    bufferVersion++;
+  }
+
+  /**
+   * Adds the object to the world drawn by the camera, in {@code DIRECT} mode.
+   *
+   * <p>The object is drawn every frame when it is visible, until it's removed or {@code clear} is called.
+   * Objects that implement {@link Bounded} are skipped when outside the visible area.</p>
+   *
+   * @param object The drawable object to add.
+   * @throws IllegalStateException if the camera is in {@code BUFFERED} mode (use {@link #render} instead).
+   */
+  public void add(Drawable object) {
+    if (mode != CameraMode.DIRECT) {
+      throw new IllegalStateException("Cannot add objects to a camera in BUFFERED mode, render them instead");
+    }
+
+    renderedObjects.add(object);
+  }
+
+  /**
+   * Removes the object added with {@link #add}, in {@code DIRECT} mode.
+   *
+   * @param object The drawable object to remove.
+   */
+  public void remove(Drawable object) {
+    renderedObjects.remove(object);
+  }
+
+  /**
+   * Removes everything rendered so far: clears the buffer in {@code BUFFERED} mode,
+   * or removes all added objects in {@code DIRECT} mode.
+   */
+  public void clear() {
+    if (mode == CameraMode.DIRECT) {
+      renderedObjects.clear();
+    }
+    else {
+      Graphics2D context = buffer.createGraphics();
+
+      context.setComposite(AlphaComposite.Clear);
+      context.fillRect(0, 0, buffer.getWidth(), buffer.getHeight());
+      context.dispose();
+      bufferVersion++;
+    }
   }
 
   /**
@@ -181,10 +327,22 @@ public class Camera implements Drawable, Updatable {
    */
   @Override
   public void draw(Graphics2D context, Canvas canvas) {
+    if (mode == CameraMode.DIRECT) {
+      drawDirect(context, canvas);
+      return;
+    }
+
     // Calculate the position of the visible portion on the canvas
     int canvasX =  (int) (-position.getRoundX() * zoom);
     int canvasY =  (int) (-position.getRoundY() * zoom);
   
+    BufferedImage scaled = scaledImages != null ? scaledImages.get(buffer, bufferVersion, zoom) : null;
+
+    if (scaled != null) {
+      context.drawImage(scaled, canvasX, canvasY, null);
+      return;
+    }
+
     // Calculate the dimensions of the visible portion on the canvas
     int canvasWidth = (int) (buffer.getWidth() * zoom);
     int canvasHeight = (int) (buffer.getHeight() * zoom);
@@ -193,6 +351,79 @@ public class Camera implements Drawable, Updatable {
     context.drawImage(buffer, canvasX, canvasY, canvasWidth, canvasHeight, null);
   }
 
+  /**
+   * Prepares the added objects for drawing by several threads at once, in {@code DIRECT} mode.
+   *
+   * @param context The graphics context of the canvas.
+   * @param canvas The canvas associated with the camera.
+   */
+  @Override
+  public void prepare(Graphics2D context, Canvas canvas) {
+    if (mode != CameraMode.DIRECT) {
+      return;
+    }
+
+    AffineTransform transform = context.getTransform();
+    Shape clip = context.getClip();
+
+    applyWorldTransform(context);
+
+    for (int i = 0; i < renderedObjects.size(); i++) {
+      if (renderedObjects.get(i) instanceof Preparable preparable) {
+        preparable.prepare(context, canvas);
+      }
+    }
+
+    context.setTransform(transform);
+    context.setClip(clip);
+  }
+
+  /**
+   * Transforms the graphics context from canvas to world coordinates and clips it to the world.
+   *
+   * @param context The graphics context of the canvas.
+   */
+  protected void applyWorldTransform(Graphics2D context) {
+    context.translate((int) (-position.getRoundX() * zoom), (int) (-position.getRoundY() * zoom));
+    context.scale(zoom, zoom);
+    context.clip(new Rectangle(0, 0, worldWidth, worldHeight));
+  }
+
+  /**
+   * Draws the visible added objects directly onto the canvas, transformed the same way as the buffer
+   * in {@code BUFFERED} mode.
+   *
+   * @param context The graphics context of the canvas.
+   * @param canvas The canvas associated with the camera.
+   */
+  protected void drawDirect(Graphics2D context, Canvas canvas) {
+    AffineTransform transform = context.getTransform();
+    Shape clip = context.getClip();
+
+    applyWorldTransform(context);
+
+    // The clip in world coordinates, also limited by the clip of the canvas (e.g. a dirty region).
+    Rectangle visibleArea = context.getClipBounds();
+
+    int culled = 0;
+
+    for (int i = 0; i < renderedObjects.size(); i++) {
+      Drawable object = renderedObjects.get(i);
+
+      if (object instanceof Bounded bounded && !bounded.getBounds().intersects(visibleArea)) {
+        culled++;
+        continue;
+      }
+
+      object.draw(context, canvas);
+    }
+
+    culledObjects = culled;
+
+    context.setTransform(transform);
+    context.setClip(clip);
+  }
+
   /**
    * Updates the camera position based on user input.
    * 
@@ -0,0 +1,19 @@
+package xyz.magicjourney.odyssey.renderer;
+
+/**
+ * Defines how the {@link Camera} draws the world.
+ */
+public enum CameraMode {
+  /**
+   * The world is rendered into a camera buffer of the world size, which is then scaled onto the canvas.
+   * Rendered objects stay in the buffer until it is cleared, but the buffer needs memory proportional to the world size.
+   */
+  BUFFERED,
+
+  /**
+   * The world is drawn directly onto the canvas, translated and scaled by the graphics context transform.
+   * Only objects intersecting the visible part of the world are drawn, and no memory depends on the world size.
+   * Objects are added to the camera once (see {@code Camera.add}) and drawn every frame until removed.
+   */
+  DIRECT
+}
@@ -20,6 +20,7 @@ public class Canvas extends JPanel {
   private int canvasWidth;
   private int canvasHeight;
   private Vector canvasPosition;
+  private volatile long frame;
 
   private Event readyEvent;
   /**
@@ -42,6 +43,7 @@ public class Canvas extends JPanel {
     this.targetHeight = height;
     this.canvasWidth = width;
     this.canvasHeight = height;
+    this.scaleFactor = 1;
     this.canvasPosition = new Vector();
 
     this.readyEvent = new Event();
@@ -80,8 +82,15 @@ public class Canvas extends JPanel {
   /**
    * Resizes the canvas based on the current size.
    * Recalculates the scale factor, dimensions, and position.
+   *
+   * <p>Until the component has a size (e.g. in headless mode, where it's never displayed), the canvas keeps
+   * the scale of 1 at the origin, so points converted with {@link #pointInCanvas} stay in the target coordinates.</p>
    */
   private void resizeCanvas() {
+    if (getWidth() <= 0 || getHeight() <= 0) {
+      return;
+    }
+
     calculateScaleFactor();
     calculateDimensions();
     calculatePosition();
@@ -117,6 +126,43 @@ public class Canvas extends JPanel {
     );
   }
 
+  /**
+   * Gets the number of frames finished by the renderer, i.e. the number of the frame being drawn.
+   *
+   * <p>Objects caching state per frame (e.g. {@link xyz.magicjourney.odyssey.tilemap.TileMap}) compare it
+   * to detect a new frame while drawing, even if they are drawn several times per frame.</p>
+   *
+   * @return The number of the current frame.
+   */
+  public long getFrame() {
+    return frame;
+  }
+
+  /**
+   * Advances the frame number, called by the renderer when a frame is finished.
+   */
+  void nextFrame() {
+    frame++;
+  }
+
+  /**
+   * Gets the width of the canvas before scaling to the window, i.e. the width of the coordinate system used for drawing.
+   *
+   * @return The target width of the canvas.
+   */
+  public int getTargetWidth() {
+    return targetWidth;
+  }
+
+  /**
+   * Gets the height of the canvas before scaling to the window, i.e. the height of the coordinate system used for drawing.
+   *
+   * @return The target height of the canvas.
+   */
+  public int getTargetHeight() {
+    return targetHeight;
+  }
+
   /**
    * Gets the width of the canvas.
    *
@@ -152,13 +198,13 @@ public class Canvas extends JPanel {
   }
 
   /**
-   * Converts a point from canvas coordinates to window coordinates.
+   * Converts a point from canvas coordinates to window coordinates, the inverse of {@link #pointInCanvas}.
    *
    * @param point The point in canvas coordinates.
    * @return The point in window coordinates.
    */
   public Vector canvasPointToWindow(Vector point) {
-    return Vector.addition(point, canvasPosition);
+    return Vector.multiplication(point, scaleFactor).add(canvasPosition);
   }
 
   /**
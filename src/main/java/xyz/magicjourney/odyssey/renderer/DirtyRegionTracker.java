@@ -0,0 +1,243 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the regions of the canvas that have changed between two frames.
+ *
+ * <p>The drawables of each frame are recorded in order. At the end of the frame they are compared with the drawables
+ * of the previous frame at the same position in the list: if the object, its bounds or its version differ,
+ * both the old and the new bounds are marked as dirty. Overlapping dirty regions are merged.</p>
+ *
+ * <p><b>NOTE:</b> Drawables that don't implement {@link Bounded} may draw anywhere,
+ * so any change of them makes the whole canvas dirty.</p>
+ *
+ * @see Renderer#useDirtyRegions(boolean)
+ */
+public class DirtyRegionTracker {
+  // Beyond this number of regions, the time spent on clipping outweighs the saved pixels.
+  private static final int MAX_REGIONS = 16;
+
+  // If the dirty regions cover more than this part of the canvas, it's cheaper to redraw everything at once.
+  private static final double FULL_REDRAW_RATIO = 0.6;
+
+  private ArrayList<Drawable> drawables;
+  private ArrayList<Rectangle> bounds;
+  private long[] versions;
+  private ArrayList<Drawable> previousDrawables;
+  private ArrayList<Rectangle> previousBounds;
+  private long[] previousVersions;
+
+  private ArrayList<Rectangle> regions;
+  private ArrayList<Rectangle> invalidated;
+  private boolean fullRedraw;
+  private long dirtyArea;
+
+  public DirtyRegionTracker() {
+    this.drawables = new ArrayList<>();
+    this.bounds = new ArrayList<>();
+    this.versions = new long[64];
+    this.previousDrawables = new ArrayList<>();
+    this.previousBounds = new ArrayList<>();
+    this.previousVersions = new long[64];
+    this.regions = new ArrayList<>();
+    this.invalidated = new ArrayList<>();
+    this.fullRedraw = true;
+  }
+
+  /**
+   * Records the drawable as the next one drawn in the current frame.
+   *
+   * @param drawable The drawable object.
+   */
+  public void add(Drawable drawable) {
+    int index = drawables.size();
+
+    if (index == versions.length) {
+      versions = Arrays.copyOf(versions, index * 2);
+    }
+
+    drawables.add(drawable);
+
+    if (drawable instanceof Bounded bounded) {
+      Rectangle area = new Rectangle(bounded.getBounds());
+
+      // Antialiased edges may reach one pixel beyond the bounds.
+      area.grow(1, 1);
+      bounds.add(area);
+      versions[index] = bounded.getVersion();
+    }
+    else {
+      bounds.add(null);
+    }
+  }
+
+  /**
+   * Marks the area as dirty in the current frame, regardless of the drawables.
+   *
+   * @param area The area to redraw, in canvas coordinates.
+   */
+  public void invalidate(Rectangle area) {
+    invalidated.add(new Rectangle(area));
+  }
+
+  /**
+   * Marks the whole canvas as dirty in the current frame.
+   */
+  public void invalidateAll() {
+    fullRedraw = true;
+  }
+
+  /**
+   * Gets the drawables recorded in the current frame, in the order of drawing.
+   *
+   * @return The list of drawables.
+   */
+  public List<Drawable> getDrawables() {
+    return drawables;
+  }
+
+  /**
+   * Gets the bounds of the drawable at the specified position of the current frame.
+   *
+   * @param index The position of the drawable in the list.
+   * @return The bounds of the drawable, or null if it's not {@link Bounded}.
+   */
+  public Rectangle getBounds(int index) {
+    return bounds.get(index);
+  }
+
+  /**
+   * Compares the current frame with the previous one and finds the dirty regions.
+   *
+   * @param width  The width of the canvas.
+   * @param height The height of the canvas.
+   * @return The merged dirty regions, in canvas coordinates.
+   */
+  public List<Rectangle> computeRegions(int width, int height) {
+    Rectangle canvasArea = new Rectangle(0, 0, width, height);
+
+    regions.clear();
+
+    int count = Math.max(drawables.size(), previousDrawables.size());
+
+    for (int i = 0; i < count && !fullRedraw; i++) {
+      if (!hasChanged(i)) {
+        continue;
+      }
+
+      Rectangle current = i < drawables.size() ? bounds.get(i) : null;
+      Rectangle previous = i < previousDrawables.size() ? previousBounds.get(i) : null;
+
+      if ((i < drawables.size() && current == null) || (i < previousDrawables.size() && previous == null)) {
+        fullRedraw = true;
+      }
+      else {
+        addRegion(current, canvasArea);
+        addRegion(previous, canvasArea);
+      }
+    }
+
+    for (Rectangle area : invalidated) {
+      addRegion(area, canvasArea);
+    }
+
+    invalidated.clear();
+    dirtyArea = 0;
+
+    for (Rectangle region : regions) {
+      dirtyArea += (long) region.width * region.height;
+    }
+
+    if (fullRedraw || regions.size() > MAX_REGIONS || dirtyArea > width * height * FULL_REDRAW_RATIO) {
+      regions.clear();
+      regions.add(canvasArea);
+      dirtyArea = (long) width * height;
+      fullRedraw = false;
+    }
+
+    return regions;
+  }
+
+  /**
+   * Gets the total area of the regions found by the last {@code computeRegions} call.
+   *
+   * @return The dirty area (in canvas pixels).
+   */
+  public long getDirtyArea() {
+    return dirtyArea;
+  }
+
+  /**
+   * Finishes the current frame: its drawables become the previous frame for the next comparison.
+   */
+  public void finishFrame() {
+    ArrayList<Drawable> swappedDrawables = previousDrawables;
+    ArrayList<Rectangle> swappedBounds = previousBounds;
+    long[] swappedVersions = previousVersions;
+
+    previousDrawables = drawables;
+    previousBounds = bounds;
+    previousVersions = versions;
+    drawables = swappedDrawables;
+    bounds = swappedBounds;
+    versions = swappedVersions;
+    drawables.clear();
+    bounds.clear();
+  }
+
+  /**
+   * Checks if the drawable at the specified position differs from the one in the previous frame.
+   *
+   * @param index The position of the drawable in the list.
+   * @return {@code true} if the area of the drawable must be redrawn, {@code false} otherwise.
+   */
+  private boolean hasChanged(int index) {
+    if (index >= drawables.size() || index >= previousDrawables.size()) {
+      return true;
+    }
+
+    if (drawables.get(index) != previousDrawables.get(index) || bounds.get(index) == null) {
+      return true;
+    }
+
+    return versions[index] != previousVersions[index] || !bounds.get(index).equals(previousBounds.get(index));
+  }
+
+  /**
+   * Adds the area to the dirty regions, merging it with all regions it overlaps.
+   *
+   * @param area The dirty area, or null.
+   * @param canvasArea The area of the whole canvas.
+   */
+  private void addRegion(Rectangle area, Rectangle canvasArea) {
+    if (area == null) {
+      return;
+    }
+
+    Rectangle region = area.intersection(canvasArea);
+
+    if (region.isEmpty()) {
+      return;
+    }
+
+    boolean merged = true;
+
+    while (merged) {
+      merged = false;
+
+      for (int i = 0; i < regions.size(); i++) {
+        if (regions.get(i).intersects(region)) {
+          region = region.union(regions.remove(i));
+          merged = true;
+          break;
+        }
+      }
+    }
+
+    regions.add(region);
+  }
+}
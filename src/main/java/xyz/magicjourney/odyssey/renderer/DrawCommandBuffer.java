@@ -0,0 +1,401 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.util.Arrays;
+
+import xyz.magicjourney.odyssey.resource.atlas.AtlasRegion;
+
+/**
+ * Records draw commands and executes them later, sorted to minimize the changes of the graphics context state.
+ *
+ * <p>Drawing objects one by one in submission order makes the graphics context switch its font, color
+ * and rendering hints for almost every object. The buffer sorts commands by layer, then by their kind and state
+ * (image, font, color), so that e.g. all texts with the same font and color are drawn in a row, and sets
+ * the state only when it actually changes.</p>
+ *
+ * <p>Commands are stored in parallel arrays that are reused across frames, so recording doesn't allocate
+ * once the buffer has grown to the size of a frame. Call {@code clear} at the beginning of each frame,
+ * record the commands (directly or with {@link Recordable#record}) and draw the buffer with {@link Renderer#draw}.</p>
+ *
+ * <p>States are numbered by identity in a table that is emptied by {@code clear}, so the buffer doesn't keep
+ * images, fonts or colors of previous frames alive (e.g. the images of a text composed again every frame).</p>
+ *
+ * <p><b>NOTE:</b> Only layers determine the drawing order. Commands on the same layer can be drawn in any order,
+ * so objects that overlap must be put on different layers.</p>
+ */
+public class DrawCommandBuffer implements Drawable {
+  private static final int IMAGE = 0;
+  private static final int TEXT = 1;
+  private static final int RECTANGLE = 2;
+  private static final int DRAWABLE = 3;
+
+  // Bits of the sort key: layer (16) | kind (2) | main state (14) | color (13) | command index (19).
+  private static final int INDEX_BITS = 19;
+  private static final int COLOR_BITS = 13;
+  private static final int STATE_BITS = 14;
+  private static final int MAX_COMMANDS = 1 << INDEX_BITS;
+
+  private int count;
+  private int[] kinds;
+  private int[] xs;
+  private int[] ys;
+  private int[] widths;
+  private int[] heights;
+  private boolean[] antialiasing;
+  private Object[] resources;
+  private Font[] fonts;
+  private Color[] colors;
+  private long[] keys;
+  private boolean sorted;
+
+  // Open addressing table of the states seen since the last clear, the id of a state is its insertion order.
+  private Object[] states;
+  private int[] stateIds;
+  private int stateCount;
+  private int stateChanges;
+
+  /**
+   * Constructs an empty command buffer.
+   */
+  public DrawCommandBuffer() {
+    this(256);
+  }
+
+  /**
+   * Constructs an empty command buffer with space for the specified number of commands.
+   *
+   * @param capacity The initial number of commands the buffer can store, it grows when needed.
+   */
+  public DrawCommandBuffer(int capacity) {
+    this.kinds = new int[capacity];
+    this.xs = new int[capacity];
+    this.ys = new int[capacity];
+    this.widths = new int[capacity];
+    this.heights = new int[capacity];
+    this.antialiasing = new boolean[capacity];
+    this.resources = new Object[capacity];
+    this.fonts = new Font[capacity];
+    this.colors = new Color[capacity];
+    this.keys = new long[capacity];
+    this.states = new Object[64];
+    this.stateIds = new int[64];
+  }
+
+  /**
+   * Removes all recorded commands, keeping the allocated memory.
+   */
+  public void clear() {
+    Arrays.fill(resources, 0, count, null);
+    Arrays.fill(fonts, 0, count, null);
+    Arrays.fill(colors, 0, count, null);
+    count = 0;
+    sorted = false;
+
+    if (stateCount > 0) {
+      Arrays.fill(states, null);
+      stateCount = 0;
+    }
+  }
+
+  /**
+   * Records drawing an image.
+   *
+   * @param layer The layer of the command.
+   * @param image The image to draw.
+   * @param x The x-coordinate of the top-left corner.
+   * @param y The y-coordinate of the top-left corner.
+   */
+  public void drawImage(int layer, Image image, int x, int y) {
+    int index = add(IMAGE, layer, x, y, stateId(image), 0);
+
+    resources[index] = image;
+  }
+
+  /**
+   * Records drawing a region of a texture atlas page.
+   *
+   * <p>Regions are sorted by their page, so sprites packed into the same page are drawn in a row.</p>
+   *
+   * @param layer The layer of the command.
+   * @param region The region to draw.
+   * @param x The x-coordinate of the top-left corner.
+   * @param y The y-coordinate of the top-left corner.
+   */
+  public void drawRegion(int layer, AtlasRegion region, int x, int y) {
+    int index = add(IMAGE, layer, x, y, stateId(region.getPage()), 0);
+
+    resources[index] = region;
+  }
+
+  /**
+   * Records drawing a text.
+   *
+   * @param layer The layer of the command.
+   * @param text The text to draw.
+   * @param x The x-coordinate of the text baseline start.
+   * @param y The y-coordinate of the text baseline.
+   * @param font The font of the text.
+   * @param color The color of the text.
+   * @param antialiased {@code true} to draw the text with antialiasing, {@code false} otherwise.
+   */
+  public void drawText(int layer, String text, int x, int y, Font font, Color color, boolean antialiased) {
+    int index = add(TEXT, layer, x, y, stateId(font) << 1 | (antialiased ? 1 : 0), stateId(color));
+
+    resources[index] = text;
+    fonts[index] = font;
+    colors[index] = color;
+    antialiasing[index] = antialiased;
+  }
+
+  /**
+   * Records filling a rectangle.
+   *
+   * @param layer The layer of the command.
+   * @param x The x-coordinate of the top-left corner.
+   * @param y The y-coordinate of the top-left corner.
+   * @param width The width of the rectangle.
+   * @param height The height of the rectangle.
+   * @param color The fill color.
+   */
+  public void fillRect(int layer, int x, int y, int width, int height, Color color) {
+    int index = add(RECTANGLE, layer, x, y, 0, stateId(color));
+
+    widths[index] = width;
+    heights[index] = height;
+    colors[index] = color;
+  }
+
+  /**
+   * Records drawing any drawable object.
+   *
+   * <p><b>NOTE:</b> The buffer doesn't know what state such an object sets, so it must set all the state again after it.
+   * Prefer the specific commands or {@link Recordable} objects.</p>
+   *
+   * @param layer The layer of the command.
+   * @param drawable The object to draw.
+   */
+  public void draw(int layer, Drawable drawable) {
+    int index = add(DRAWABLE, layer, 0, 0, 0, 0);
+
+    resources[index] = drawable;
+  }
+
+  /**
+   * Records the commands of the recordable object.
+   *
+   * @param layer The layer of the commands.
+   * @param object The object to record.
+   */
+  public void record(int layer, Recordable object) {
+    object.record(this, layer);
+  }
+
+  /**
+   * Gets the number of recorded commands.
+   *
+   * @return The number of commands.
+   */
+  public int getCommandCount() {
+    return count;
+  }
+
+  /**
+   * Gets the number of graphics context state changes (font, color, hints) made by the last execution.
+   *
+   * @return The number of state changes.
+   */
+  public int getStateChanges() {
+    return stateChanges;
+  }
+
+  /**
+   * Sorts the commands by layer and state, unless they are already sorted.
+   *
+   * <p>Synchronized, so the buffer can be drawn by several threads at once (e.g. each of them on a part of the canvas).</p>
+   */
+  public synchronized void sort() {
+    if (!sorted) {
+      Arrays.sort(keys, 0, count);
+      sorted = true;
+    }
+  }
+
+  /**
+   * Executes all recorded commands in the sorted order.
+   *
+   * <p>The commands stay recorded, so the same buffer can be drawn again until it is cleared.</p>
+   */
+  @Override
+  public void draw(Graphics2D context, Canvas canvas) {
+    sort();
+
+    Font currentFont = null;
+    Color currentColor = null;
+    Object currentAntialiasing = null;
+    int changes = 0;
+
+    for (int i = 0; i < count; i++) {
+      int index = (int) (keys[i] & (MAX_COMMANDS - 1));
+
+      switch (kinds[index]) {
+        case IMAGE -> {
+          if (resources[index] instanceof AtlasRegion region) {
+            region.draw(context, xs[index], ys[index]);
+          }
+          else {
+            context.drawImage((Image) resources[index], xs[index], ys[index], null);
+          }
+        }
+        case TEXT -> {
+          Object hint = antialiasing[index] ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF;
+
+          if (fonts[index] != currentFont) {
+            currentFont = fonts[index];
+            context.setFont(currentFont);
+            changes++;
+          }
+
+          if (colors[index] != currentColor) {
+            currentColor = colors[index];
+            context.setColor(currentColor);
+            changes++;
+          }
+
+          if (hint != currentAntialiasing) {
+            currentAntialiasing = hint;
+            context.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, hint);
+            changes++;
+          }
+
+          context.drawString((String) resources[index], xs[index], ys[index]);
+        }
+        case RECTANGLE -> {
+          if (colors[index] != currentColor) {
+            currentColor = colors[index];
+            context.setColor(currentColor);
+            changes++;
+          }
+
+          context.fillRect(xs[index], ys[index], widths[index], heights[index]);
+        }
+        case DRAWABLE -> {
+          ((Drawable) resources[index]).draw(context, canvas);
+          currentFont = null;
+          currentColor = null;
+          currentAntialiasing = null;
+        }
+      }
+    }
+
+    stateChanges = changes;
+  }
+
+  /**
+   * Adds a command and its sort key.
+   *
+   * @param kind The kind of the command.
+   * @param layer The layer of the command.
+   * @param x The x-coordinate of the command.
+   * @param y The y-coordinate of the command.
+   * @param state The id of the main state (image or font).
+   * @param color The id of the color.
+   * @return The index of the command.
+   */
+  private int add(int kind, int layer, int x, int y, int state, int color) {
+    if (count == MAX_COMMANDS) {
+      throw new IllegalStateException("Cannot record more than " + MAX_COMMANDS + " commands");
+    }
+
+    if (count == kinds.length) {
+      grow();
+    }
+
+    int index = count++;
+    // The layer keeps its sign in the highest bits, so negative layers are sorted before positive ones.
+    long sortLayer = Math.clamp(layer, Short.MIN_VALUE, Short.MAX_VALUE);
+
+    kinds[index] = kind;
+    xs[index] = x;
+    ys[index] = y;
+    keys[index] = sortLayer << (2 + STATE_BITS + COLOR_BITS + INDEX_BITS)
+      | (long) kind << (STATE_BITS + COLOR_BITS + INDEX_BITS)
+      | (long) (state & ((1 << STATE_BITS) - 1)) << (COLOR_BITS + INDEX_BITS)
+      | (long) (color & ((1 << COLOR_BITS) - 1)) << INDEX_BITS
+      | index;
+    sorted = false;
+
+    return index;
+  }
+
+  /**
+   * Gets the id of the state object, so the same states are next to each other after sorting.
+   *
+   * @param state The state object (image, font or color).
+   * @return The id of the state.
+   */
+  private int stateId(Object state) {
+    int mask = states.length - 1;
+    int slot = System.identityHashCode(state) & mask;
+
+    while (states[slot] != null) {
+      if (states[slot] == state) {
+        return stateIds[slot];
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    states[slot] = state;
+    stateIds[slot] = ++stateCount;
+
+    // Keeps the table at most half full, so the probe sequences stay short.
+    if (stateCount * 2 > states.length) {
+      growStates();
+    }
+
+    return stateCount;
+  }
+
+  /** Doubles the size of the state table, inserting the states again. */
+  private void growStates() {
+    Object[] oldStates = states;
+    int[] oldIds = stateIds;
+    int mask = oldStates.length * 2 - 1;
+
+    states = new Object[oldStates.length * 2];
+    stateIds = new int[oldStates.length * 2];
+
+    for (int i = 0; i < oldStates.length; i++) {
+      if (oldStates[i] != null) {
+        int slot = System.identityHashCode(oldStates[i]) & mask;
+
+        while (states[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+
+        states[slot] = oldStates[i];
+        stateIds[slot] = oldIds[i];
+      }
+    }
+  }
+
+  /** Doubles the size of the command arrays. */
+  private void grow() {
+    int capacity = Math.min(MAX_COMMANDS, Math.max(16, kinds.length * 2));
+
+    kinds = Arrays.copyOf(kinds, capacity);
+    xs = Arrays.copyOf(xs, capacity);
+    ys = Arrays.copyOf(ys, capacity);
+    widths = Arrays.copyOf(widths, capacity);
+    heights = Arrays.copyOf(heights, capacity);
+    antialiasing = Arrays.copyOf(antialiasing, capacity);
+    resources = Arrays.copyOf(resources, capacity);
+    fonts = Arrays.copyOf(fonts, capacity);
+    colors = Arrays.copyOf(colors, capacity);
+    keys = Arrays.copyOf(keys, capacity);
+  }
+}
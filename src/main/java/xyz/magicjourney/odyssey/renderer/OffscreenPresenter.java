@@ -0,0 +1,96 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Presents frames into an image kept in memory instead of a window.
+ *
+ * <p>Used in headless mode, e.g. to take screenshots in tests or to measure the cost of presenting.</p>
+ */
+public class OffscreenPresenter implements Presenter {
+  private BufferedImage target;
+  private Graphics2D context;
+  private long presentedFrames;
+  private long presentedPixels;
+
+  /**
+   * Constructs a presenter drawing into a new image of the specified size.
+   *
+   * @param width  The width of the target image.
+   * @param height The height of the target image.
+   */
+  public OffscreenPresenter(int width, int height) {
+    this(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+  }
+
+  /**
+   * Constructs a presenter drawing into the specified image.
+   *
+   * @param target The image to present frames into.
+   */
+  public OffscreenPresenter(BufferedImage target) {
+    this.target = target;
+    this.context = target.createGraphics();
+    this.presentedFrames = 0;
+  }
+
+  @Override
+  public void present(BufferedImage frame) {
+    present(frame, frame.getWidth(), frame.getHeight());
+  }
+
+  @Override
+  public void present(BufferedImage frame, int width, int height) {
+    context.drawImage(frame, 0, 0, target.getWidth(), target.getHeight(), 0, 0, width, height, null);
+    presentedFrames += 1;
+    presentedPixels += (long) width * height;
+  }
+
+  @Override
+  public void present(BufferedImage frame, int width, int height, List<Rectangle> regions) {
+    double scaleX = (double) target.getWidth() / width;
+    double scaleY = (double) target.getHeight() / height;
+
+    for (Rectangle region : regions) {
+      int x = (int) Math.floor(region.x * scaleX);
+      int y = (int) Math.floor(region.y * scaleY);
+      int right = (int) Math.ceil((region.x + region.width) * scaleX);
+      int bottom = (int) Math.ceil((region.y + region.height) * scaleY);
+
+      context.drawImage(frame, x, y, right, bottom, region.x, region.y, region.x + region.width, region.y + region.height, null);
+      presentedPixels += (long) region.width * region.height;
+    }
+
+    presentedFrames += 1;
+  }
+
+  /**
+   * Gets the image containing the last presented frame.
+   *
+   * @return The target image.
+   */
+  public BufferedImage getTarget() {
+    return target;
+  }
+
+  /**
+   * Gets the number of frames presented so far.
+   *
+   * @return The number of presented frames.
+   */
+  public long getPresentedFrames() {
+    return presentedFrames;
+  }
+
+  /**
+   * Gets the number of frame pixels presented so far. In dirty region mode, it counts only the changed regions.
+   *
+   * @return The number of presented pixels.
+   */
+  public long getPresentedPixels() {
+    return presentedPixels;
+  }
+}
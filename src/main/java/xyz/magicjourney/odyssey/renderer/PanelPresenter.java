@@ -0,0 +1,75 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import xyz.magicjourney.odyssey.math.Vector;
+
+/**
+ * Presents frames directly on the canvas panel, maintaining the canvas aspect ratio.
+ */
+public class PanelPresenter implements Presenter {
+  private Canvas canvas;
+  private int presentedWidth;
+  private int presentedHeight;
+
+  /**
+   * Constructs a presenter drawing on the specified canvas.
+   *
+   * @param canvas The canvas to present frames on.
+   */
+  public PanelPresenter(Canvas canvas) {
+    this.canvas = canvas;
+  }
+
+  @Override
+  public void present(BufferedImage frame) {
+    present(frame, frame.getWidth(), frame.getHeight());
+  }
+
+  @Override
+  public void present(BufferedImage frame, int width, int height) {
+    Graphics screen = canvas.getGraphics();
+    Vector topLeftCorner = canvas.canvasPointToWindow(new Vector(0));
+    int x = topLeftCorner.getRoundX();
+    int y = topLeftCorner.getRoundY();
+
+    canvas.drawBorder(screen);
+    screen.drawImage(frame, x, y, x + canvas.getCanvasWidth(), y + canvas.getCanvasHeight(), 0, 0, width, height, null);
+
+    screen.dispose();
+    presentedWidth = canvas.getWidth();
+    presentedHeight = canvas.getHeight();
+  }
+
+  /**
+   * Presents only the changed regions of the frame, scaled to the window.
+   *
+   * <p><b>NOTE:</b> After the window is resized, the whole frame is presented once, since the panel was repainted.</p>
+   */
+  @Override
+  public void present(BufferedImage frame, int width, int height, List<Rectangle> regions) {
+    if (presentedWidth != canvas.getWidth() || presentedHeight != canvas.getHeight()) {
+      present(frame, width, height);
+      return;
+    }
+
+    Graphics screen = canvas.getGraphics();
+    Vector topLeftCorner = canvas.canvasPointToWindow(new Vector(0));
+    double scaleX = (double) canvas.getCanvasWidth() / width;
+    double scaleY = (double) canvas.getCanvasHeight() / height;
+
+    for (Rectangle region : regions) {
+      int x = topLeftCorner.getRoundX() + (int) Math.floor(region.x * scaleX);
+      int y = topLeftCorner.getRoundY() + (int) Math.floor(region.y * scaleY);
+      int right = topLeftCorner.getRoundX() + (int) Math.ceil((region.x + region.width) * scaleX);
+      int bottom = topLeftCorner.getRoundY() + (int) Math.ceil((region.y + region.height) * scaleY);
+
+      screen.drawImage(frame, x, y, right, bottom, region.x, region.y, region.x + region.width, region.y + region.height, null);
+    }
+
+    screen.dispose();
+  }
+}
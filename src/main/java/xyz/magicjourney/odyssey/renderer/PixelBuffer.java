@@ -0,0 +1,404 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.util.Arrays;
+
+import xyz.magicjourney.odyssey.job.JobSystem;
+import xyz.magicjourney.odyssey.job.RangeTask;
+
+/**
+ * Gives direct access to the pixels of an image backed by an {@code int[]} and draws on them without {@link java.awt.Graphics2D}.
+ *
+ * <p>Fills, blits and color effects are done with plain loops over the pixel array, with two color channels
+ * blended at once in a single {@code int}. Large areas are split into rows and processed in parallel
+ * on the {@link JobSystem}, if one is set.</p>
+ *
+ * <p>Supported image types are {@code TYPE_INT_RGB}, {@code TYPE_INT_ARGB} and {@code TYPE_INT_ARGB_PRE}.
+ * Any of them can be a source of blits. The image drawn on is treated as opaque, like the renderer buffer.</p>
+ *
+ * <p><b>NOTE:</b> Accessing the pixel array stops Java2D from caching the image in video memory,
+ * so drawing the image itself with {@link java.awt.Graphics2D} may become slower.
+ * Coordinates are in image pixels, the transform of the graphics context doesn't apply.</p>
+ */
+public class PixelBuffer {
+  private static final int PARALLEL_THRESHOLD = 128 * 1024;
+
+  private BufferedImage image;
+  private int[] pixels;
+  private int offset;
+  private int stride;
+  private int width;
+  private int height;
+  private boolean opaque;
+  private boolean premultiplied;
+  private JobSystem jobSystem;
+
+  /**
+   * Constructs a pixel buffer of the image, sharing its pixels.
+   *
+   * @param image The image with pixels stored in an {@code int[]}, it can be a sub-image.
+   * @throws IllegalArgumentException if the pixels of the image aren't stored as packed integers.
+   */
+  public PixelBuffer(BufferedImage image) {
+    int type = image.getType();
+
+    if (type != BufferedImage.TYPE_INT_RGB && type != BufferedImage.TYPE_INT_ARGB && type != BufferedImage.TYPE_INT_ARGB_PRE) {
+      throw new IllegalArgumentException("Cannot access pixels of image type " + type);
+    }
+
+    Raster raster = image.getRaster();
+    DataBufferInt data = (DataBufferInt) raster.getDataBuffer();
+
+    this.image = image;
+    this.pixels = data.getData();
+    this.stride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+    this.offset = data.getOffset() - raster.getSampleModelTranslateY() * stride - raster.getSampleModelTranslateX();
+    this.width = image.getWidth();
+    this.height = image.getHeight();
+    this.opaque = type == BufferedImage.TYPE_INT_RGB;
+    this.premultiplied = type == BufferedImage.TYPE_INT_ARGB_PRE;
+  }
+
+  /**
+   * Sets the job system processing large areas in parallel.
+   *
+   * @param jobSystem The job system, or null to process everything on the calling thread.
+   */
+  public void setJobSystem(JobSystem jobSystem) {
+    this.jobSystem = jobSystem;
+  }
+
+  /**
+   * Gets the image whose pixels are accessed.
+   *
+   * @return The image.
+   */
+  public BufferedImage getImage() {
+    return image;
+  }
+
+  /**
+   * Gets the pixel array shared with the image.
+   *
+   * <p>The pixel at (x, y) is at index {@code getOffset() + y * getStride() + x}.</p>
+   *
+   * @return The pixel array.
+   */
+  public int[] getPixels() {
+    return pixels;
+  }
+
+  /**
+   * Gets the index of the top-left pixel in the pixel array.
+   *
+   * @return The offset.
+   */
+  public int getOffset() {
+    return offset;
+  }
+
+  /**
+   * Gets the distance between the beginnings of two rows in the pixel array.
+   *
+   * @return The scanline stride.
+   */
+  public int getStride() {
+    return stride;
+  }
+
+  /**
+   * Gets the width of the image.
+   *
+   * @return The width in pixels.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the height of the image.
+   *
+   * @return The height in pixels.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Fills a rectangle with the color, blending it if it's translucent.
+   *
+   * @param x The x-coordinate of the top-left corner.
+   * @param y The y-coordinate of the top-left corner.
+   * @param width The width of the rectangle.
+   * @param height The height of the rectangle.
+   * @param argb The color with alpha in the highest byte.
+   */
+  public void fill(int x, int y, int width, int height, int argb) {
+    int left = Math.max(0, x);
+    int top = Math.max(0, y);
+    int right = Math.min(this.width, x + width);
+    int bottom = Math.min(this.height, y + height);
+    int alpha = argb >>> 24;
+
+    if (left >= right || top >= bottom || alpha == 0) {
+      return;
+    }
+
+    int color = premultiply(argb);
+
+    forRows(right - left, bottom - top, (from, to) -> {
+      for (int row = top + from; row < top + to; row++) {
+        int start = offset + row * stride + left;
+        int end = start + right - left;
+
+        if (alpha == 255) {
+          Arrays.fill(pixels, start, end, color);
+          continue;
+        }
+
+        for (int i = start; i < end; i++) {
+          pixels[i] = over(color, pixels[i]);
+        }
+      }
+    });
+  }
+
+  /**
+   * Copies the source pixels, ignoring their alpha.
+   *
+   * @param source The source pixels.
+   * @param x The x-coordinate of the top-left corner of the destination.
+   * @param y The y-coordinate of the top-left corner of the destination.
+   */
+  public void blitOpaque(PixelBuffer source, int x, int y) {
+    blit(source, 0, 0, source.width, source.height, x, y, BlendMode.OPAQUE, 0xFFFFFFFF);
+  }
+
+  /**
+   * Draws the source pixels over the existing ones, blending them by their alpha.
+   *
+   * @param source The source pixels.
+   * @param x The x-coordinate of the top-left corner of the destination.
+   * @param y The y-coordinate of the top-left corner of the destination.
+   */
+  public void blit(PixelBuffer source, int x, int y) {
+    blit(source, 0, 0, source.width, source.height, x, y, BlendMode.ALPHA, 0xFFFFFFFF);
+  }
+
+  /**
+   * Draws the source pixels multiplied by the tint color over the existing ones.
+   *
+   * <p>Each channel is multiplied by the corresponding channel of the tint, so e.g. a white sprite
+   * becomes the tint color, and the alpha of the tint fades the sprite.</p>
+   *
+   * @param source The source pixels.
+   * @param x The x-coordinate of the top-left corner of the destination.
+   * @param y The y-coordinate of the top-left corner of the destination.
+   * @param tint The tint color with alpha in the highest byte.
+   */
+  public void blitTinted(PixelBuffer source, int x, int y, int tint) {
+    blit(source, 0, 0, source.width, source.height, x, y, BlendMode.ALPHA, tint);
+  }
+
+  /**
+   * Adds the source pixels, weighted by their alpha, to the existing ones (e.g. for lights and particles).
+   *
+   * @param source The source pixels.
+   * @param x The x-coordinate of the top-left corner of the destination.
+   * @param y The y-coordinate of the top-left corner of the destination.
+   */
+  public void blitAdditive(PixelBuffer source, int x, int y) {
+    blit(source, 0, 0, source.width, source.height, x, y, BlendMode.ADDITIVE, 0xFFFFFFFF);
+  }
+
+  /**
+   * Draws a rectangle of the source pixels.
+   *
+   * @param source The source pixels.
+   * @param sourceX The x-coordinate of the top-left corner of the source rectangle.
+   * @param sourceY The y-coordinate of the top-left corner of the source rectangle.
+   * @param width The width of the rectangle.
+   * @param height The height of the rectangle.
+   * @param x The x-coordinate of the top-left corner of the destination.
+   * @param y The y-coordinate of the top-left corner of the destination.
+   * @param mode The way of combining the source pixels with the existing ones.
+   * @param tint The color multiplying the source pixels, {@code 0xFFFFFFFF} to keep them unchanged.
+   */
+  public void blit(PixelBuffer source, int sourceX, int sourceY, int width, int height, int x, int y, BlendMode mode, int tint) {
+    int left = Math.max(Math.max(0, x), x - sourceX);
+    int top = Math.max(Math.max(0, y), y - sourceY);
+    int right = Math.min(Math.min(this.width, x + width), x - sourceX + source.width);
+    int bottom = Math.min(Math.min(this.height, y + height), y - sourceY + source.height);
+
+    if (left >= right || top >= bottom) {
+      return;
+    }
+
+    int columns = right - left;
+    int sourceLeft = sourceX + left - x;
+    int sourceTop = sourceY + top - y;
+    boolean tinted = tint != 0xFFFFFFFF;
+    int tintColor = premultiply(tint);
+    int[] sourcePixels = source.pixels;
+
+    forRows(columns, bottom - top, (from, to) -> {
+      for (int row = from; row < to; row++) {
+        int target = offset + (top + row) * stride + left;
+        int start = source.offset + (sourceTop + row) * source.stride + sourceLeft;
+
+        if (mode == BlendMode.OPAQUE && !tinted) {
+          System.arraycopy(sourcePixels, start, pixels, target, columns);
+        }
+        else if (source.opaque || source.premultiplied || tinted) {
+          blendRow(sourcePixels, start, pixels, target, columns, source.opaque, !source.premultiplied, tinted, tintColor, mode);
+        }
+        else {
+          blendStraightRow(sourcePixels, start, pixels, target, columns, mode);
+        }
+      }
+    });
+  }
+
+  /**
+   * Blends a row of pixels with straight (not premultiplied) alpha.
+   *
+   * <p><b>WHY?</b> Only this format needs premultiplying every pixel, so it has separate loops
+   * and the loops of the other formats stay free of the check.</p>
+   */
+  private static void blendStraightRow(int[] source, int start, int[] target, int targetStart, int count, BlendMode mode) {
+    switch (mode) {
+      case OPAQUE -> {
+        for (int i = 0; i < count; i++) {
+          target[targetStart + i] = source[start + i];
+        }
+      }
+      case ALPHA -> {
+        for (int i = 0; i < count; i++) {
+          target[targetStart + i] = over(premultiply(source[start + i]), target[targetStart + i]);
+        }
+      }
+      case ADDITIVE -> {
+        for (int i = 0; i < count; i++) {
+          target[targetStart + i] = add(premultiply(source[start + i]), target[targetStart + i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Blends a row of pixels in any format, optionally tinted.
+   */
+  private static void blendRow(int[] source, int start, int[] target, int targetStart, int count, boolean opaque, boolean straight, boolean tinted, int tint, BlendMode mode) {
+    for (int i = 0; i < count; i++) {
+      int color = source[start + i];
+
+      if (opaque) {
+        color |= 0xFF000000;
+      }
+      else if (straight) {
+        color = premultiply(color);
+      }
+
+      if (tinted) {
+        color = modulate(color, tint);
+      }
+
+      target[targetStart + i] = switch (mode) {
+        case OPAQUE -> color;
+        case ALPHA -> over(color, target[targetStart + i]);
+        case ADDITIVE -> add(color, target[targetStart + i]);
+      };
+    }
+  }
+
+  /**
+   * Runs the task on all rows of an area, in parallel if the area is large enough.
+   */
+  private void forRows(int columns, int rows, RangeTask task) {
+    if (jobSystem != null && (long) columns * rows >= PARALLEL_THRESHOLD) {
+      jobSystem.parallelForDetached(0, rows, task).await();
+    }
+    else {
+      task.run(0, rows);
+    }
+  }
+
+  /**
+   * Converts a color to premultiplied alpha.
+   */
+  private static int premultiply(int argb) {
+    int alpha = argb >>> 24;
+
+    if (alpha == 255) {
+      return argb;
+    }
+
+    return alpha << 24 | divide255((argb & 0xFF00FF) * alpha) | divide255Green((argb & 0xFF00) * alpha);
+  }
+
+  /**
+   * Draws a premultiplied color over an opaque one.
+   */
+  private static int over(int source, int destination) {
+    int alpha = source >>> 24;
+
+    if (alpha == 255) {
+      return source;
+    }
+
+    if (alpha == 0) {
+      return destination;
+    }
+
+    int inverse = 255 - alpha;
+
+    return 0xFF000000 | (source & 0xFFFFFF) + divide255((destination & 0xFF00FF) * inverse) + divide255Green((destination & 0xFF00) * inverse);
+  }
+
+  /**
+   * Adds a premultiplied color to an opaque one, saturating each channel.
+   */
+  private static int add(int source, int destination) {
+    int redBlue = (destination & 0xFF00FF) + (source & 0xFF00FF);
+    int green = (destination & 0xFF00) + (source & 0xFF00);
+    int redBlueCarry = redBlue & 0x1000100;
+    int greenCarry = green & 0x10000;
+
+    redBlue = (redBlue | (redBlueCarry - (redBlueCarry >>> 8))) & 0xFF00FF;
+    green = (green | (greenCarry - (greenCarry >>> 8))) & 0xFF00;
+
+    return 0xFF000000 | redBlue | green;
+  }
+
+  /**
+   * Multiplies each channel (including alpha) of two premultiplied colors.
+   */
+  private static int modulate(int color, int factor) {
+    int alpha = divide255((color >>> 24) * (factor >>> 24));
+    int redBlue = divide255(((color >>> 16) & 0xFF) * ((factor >>> 16) & 0xFF) << 16 | (color & 0xFF) * (factor & 0xFF));
+    int green = divide255Green(((color >>> 8) & 0xFF) * ((factor >>> 8) & 0xFF) << 8);
+
+    return alpha << 24 | redBlue | green;
+  }
+
+  /**
+   * Divides two 16-bit products packed in bits 0-15 and 16-31 by 255, rounding to the nearest integer.
+   */
+  private static int divide255(int redBlue) {
+    redBlue += 0x800080;
+
+    return ((redBlue + ((redBlue >>> 8) & 0xFF00FF)) >>> 8) & 0xFF00FF;
+  }
+
+  /**
+   * Divides a 16-bit product shifted by 8 bits by 255, rounding to the nearest integer.
+   */
+  private static int divide255Green(int green) {
+    green += 0x8000;
+
+    return ((green + ((green >>> 8) & 0xFF00)) >>> 8) & 0xFF00;
+  }
+}
@@ -0,0 +1,20 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import java.awt.Graphics2D;
+
+/**
+ * Represents a drawable object that updates cached state (e.g. transforms or bounds) lazily while drawing.
+ *
+ * <p>Used by the renderer when rendering in parallel strips (see {@link Renderer#useParallelStrips(int)}):
+ * the object is prepared once on the drawing thread, with the graphics context of the whole canvas,
+ * and then drawn by several threads at once without modifying its state.</p>
+ */
+public interface Preparable extends Drawable {
+  /**
+   * Updates everything that drawing with the same or a smaller clip would update.
+   *
+   * @param context The graphics context of the whole canvas.
+   * @param canvas  The canvas on which the object will be drawn.
+   */
+  void prepare(Graphics2D context, Canvas canvas);
+}
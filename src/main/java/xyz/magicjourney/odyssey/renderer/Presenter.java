@@ -0,0 +1,53 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Represents a target on which finished frames are presented (e.g. the game window).
+ *
+ * @see Renderer#setPresenter(Presenter)
+ */
+public interface Presenter {
+  /**
+   * Presents the finished frame.
+   *
+   * @param frame The frame to present, in canvas target size.
+   */
+  void present(BufferedImage frame);
+
+  /**
+   * Presents the top-left part of the frame, stretched to the full target size.
+   *
+   * <p>Used when the frame was rendered at a lowered resolution (see {@link ResolutionScaler}).
+   * The default implementation presents a sub-image, override it to avoid creating one.</p>
+   *
+   * @param frame  The frame to present.
+   * @param width  The width of the rendered part of the frame.
+   * @param height The height of the rendered part of the frame.
+   */
+  default void present(BufferedImage frame, int width, int height) {
+    if (width == frame.getWidth() && height == frame.getHeight()) {
+      present(frame);
+    }
+    else {
+      present(frame.getSubimage(0, 0, width, height));
+    }
+  }
+
+  /**
+   * Presents only the changed regions of the frame, the rest of the target stays as it was.
+   *
+   * <p>Used in dirty region mode (see {@link Renderer#useDirtyRegions(boolean)}). The default implementation
+   * presents the whole frame, which is required e.g. when the target doesn't keep its content between frames.</p>
+   *
+   * @param frame   The frame to present.
+   * @param width   The width of the rendered part of the frame.
+   * @param height  The height of the rendered part of the frame.
+   * @param regions The changed regions, in frame pixels.
+   */
+  default void present(BufferedImage frame, int width, int height, List<Rectangle> regions) {
+    present(frame, width, height);
+  }
+}
@@ -0,0 +1,15 @@
+package xyz.magicjourney.odyssey.renderer;
+
+/**
+ * Represents an object that can record its drawing as commands into a {@link DrawCommandBuffer},
+ * instead of drawing immediately.
+ */
+public interface Recordable {
+  /**
+   * Records the commands drawing the object.
+   *
+   * @param buffer The command buffer.
+   * @param layer  The layer of the commands, objects on higher layers are drawn over lower ones.
+   */
+  void record(DrawCommandBuffer buffer, int layer);
+}
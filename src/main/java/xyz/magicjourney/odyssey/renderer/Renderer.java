@@ -1,18 +1,43 @@
 package xyz.magicjourney.odyssey.renderer;
 
-import java.awt.Graphics;
+import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 
-import xyz.magicjourney.odyssey.math.Vector;
+import xyz.magicjourney.odyssey.job.JobHandle;
+import xyz.magicjourney.odyssey.job.JobSystem;
+import xyz.magicjourney.odyssey.loop.TripleBuffer;
 
 /**
  * The renderer class is responsible for drawing objects on the canvas.
  */
 public class Renderer {
+  private static final AffineTransform IDENTITY = new AffineTransform();
+
   private Canvas canvas;
   private BufferedImage buffer;
   private Graphics2D graphic;
+  private TripleBuffer<Frame> frames;
+  private volatile Presenter presenter;
+  private ResolutionScaler resolutionScaler;
+  private AffineTransform scaleTransform;
+  private int renderWidth;
+  private int renderHeight;
+  private DirtyRegionTracker dirtyRegions;
+  private ArrayList<Rectangle> presentedRegions;
+  private boolean dirtyRegionsDebug;
+  private BufferedImage debugFrame;
+  private PixelBuffer pixels;
+  private JobSystem jobSystem;
+  private int strips;
+  private int stripAlignment;
+  private ArrayList<Drawable> stripDrawables;
+  private Runnable[] stripJobs;
+  private JobHandle[] stripHandles;
 
   /**
    * Constructs a renderer with the specified canvas.
@@ -23,17 +48,222 @@ public class Renderer {
     this.canvas = canvas;
     this.buffer = new BufferedImage(canvas.getCanvasWidth(), canvas.getCanvasHeight(), BufferedImage.TYPE_INT_RGB);
     this.graphic = (Graphics2D)buffer.getGraphics();
+    this.presenter = new PanelPresenter(canvas);
+    this.scaleTransform = new AffineTransform();
+    this.renderWidth = buffer.getWidth();
+    this.renderHeight = buffer.getHeight();
+    this.presentedRegions = new ArrayList<>();
+    this.stripDrawables = new ArrayList<>();
+    this.stripAlignment = 1;
+    this.graphic.setClip(0, 0, buffer.getWidth(), buffer.getHeight());
+  }
+
+  /**
+   * Sets the target on which finished frames are presented.
+   *
+   * @param presenter The frame presenter, or null to skip presenting (e.g. headless simulation).
+   *
+   * @see PanelPresenter
+   * @see OffscreenPresenter
+   */
+  public void setPresenter(Presenter presenter) {
+    this.presenter = presenter;
+  }
+
+  /**
+   * Gets the target on which finished frames are presented.
+   *
+   * @return The frame presenter, or null if frames are not presented.
+   */
+  public Presenter getPresenter() {
+    return presenter;
+  }
+
+  /**
+   * Enables adaptive resolution: frames are rendered at a lower resolution when they take longer than the budget.
+   *
+   * <p>Drawables still draw in canvas coordinates, the scaling is applied by the graphics context transform.</p>
+   *
+   * @param scaler The scaler deciding the resolution, or null to always render at full resolution.
+   */
+  public void useResolutionScaling(ResolutionScaler scaler) {
+    this.resolutionScaler = scaler;
+    applyScale(scaler != null ? scaler.getScale() : 1f);
+  }
+
+  /**
+   * Gets the scaler deciding the resolution.
+   *
+   * @return The resolution scaler, or null if adaptive resolution is disabled.
+   */
+  public ResolutionScaler getResolutionScaler() {
+    return resolutionScaler;
+  }
+
+  /**
+   * Reports the time spent on the last frame, so the resolution can be adjusted to the load.
+   *
+   * <p><b>NOTE:</b> Can only be used on the drawing thread, between frames.</p>
+   *
+   * @param frameTime The time spent on the last frame, excluding waiting for the next one (in nanoseconds).
+   */
+  public void reportFrameTime(long frameTime) {
+    if (resolutionScaler != null && resolutionScaler.update(frameTime)) {
+      applyScale(resolutionScaler.getScale());
+    }
+  }
+
+  /**
+   * Enables or disables dirty region mode.
+   *
+   * <p>In dirty region mode, drawing is deferred until the end of the frame. Then only the regions of the canvas
+   * where drawables have changed (see {@link Bounded}) are cleared and redrawn, with drawing clipped to them,
+   * and only those regions are presented (if the presenter supports it). Static screens with a few animated elements,
+   * like menus with hovered buttons, cost a fraction of a full redraw.</p>
+   *
+   * <p><b>NOTE:</b> Drawables that don't implement {@link Bounded} make the whole canvas dirty every frame.
+   * The buffer is kept between frames, so this mode can't be used together with frame handoff.</p>
+   *
+   * @param enabled {@code true} to redraw only changed regions, {@code false} to redraw everything every frame.
+   */
+  public void useDirtyRegions(boolean enabled) {
+    if (enabled && frames != null) {
+      throw new IllegalStateException("Cannot track dirty regions while frames are handed over to another thread");
+    }
+
+    if (enabled && strips > 1) {
+      throw new IllegalStateException("Cannot track dirty regions while rendering in parallel strips");
+    }
+
+    dirtyRegions = enabled ? new DirtyRegionTracker() : null;
+    clear(buffer.getWidth(), buffer.getHeight());
+  }
+
+  /**
+   * Gets the tracker of dirty regions, e.g. to invalidate an area manually or check the redrawn area.
+   *
+   * @return The tracker, or null if dirty region mode is disabled.
+   */
+  public DirtyRegionTracker getDirtyRegionTracker() {
+    return dirtyRegions;
+  }
+
+  /**
+   * Enables or disables outlining the redrawn regions on the screen in dirty region mode.
+   *
+   * <p>The outlines are drawn on a copy of the frame, so they don't affect the next frames.</p>
+   *
+   * @param enabled {@code true} to outline the redrawn regions, {@code false} otherwise.
+   */
+  public void setDirtyRegionsDebug(boolean enabled) {
+    this.dirtyRegionsDebug = enabled;
+  }
+
+  /**
+   * Sets the job system used to render strips and process large areas of the {@link PixelBuffer} in parallel.
+   *
+   * @param jobSystem The job system, or null to do everything on the drawing thread.
+   */
+  public void setJobSystem(JobSystem jobSystem) {
+    this.jobSystem = jobSystem;
+
+    if (pixels != null) {
+      pixels.setJobSystem(jobSystem);
+    }
+  }
+
+  /**
+   * Enables or disables rendering in parallel strips.
+   *
+   * <p>In this mode, drawing is deferred until the end of the frame. Then the buffer is split into horizontal strips
+   * and every strip replays all drawn objects into its own graphics context clipped to the strip, each on a worker
+   * of the job system (see {@link #setJobSystem}) and one on the drawing thread. The frame is presented
+   * after all strips are finished. Objects culling by the clip (like {@link xyz.magicjourney.odyssey.scene.Scene})
+   * only draw what is visible in the strip, so heavy scenes scale with the number of cores.</p>
+   *
+   * <p><b>NOTE:</b> Drawables are drawn by several threads at once, so drawing must not modify their state
+   * (state updated lazily can be updated beforehand by implementing {@link Preparable}, or drawing can be synchronized),
+   * and they must not be modified between {@code draw} and the end of the frame.
+   * It can't be used together with dirty region mode.</p>
+   *
+   * @param strips The number of strips, e.g. the number of cores; 1 or less to draw everything immediately on the drawing thread.
+   */
+  public void useParallelStrips(int strips) {
+    if (strips > 1 && dirtyRegions != null) {
+      throw new IllegalStateException("Cannot render in parallel strips in dirty region mode");
+    }
+
+    drawStrips();
+    this.strips = Math.max(strips, 1);
+    this.stripJobs = new Runnable[this.strips];
+    this.stripHandles = new JobHandle[this.strips];
+
+    for (int i = 1; i < this.strips; i++) {
+      int strip = i;
+
+      stripJobs[i] = () -> drawStrip(strip);
+    }
+  }
+
+  /**
+   * Gets direct access to the pixels of the buffer the current frame is drawn on.
+   *
+   * <p>Effects like fills, blits and additive blending are much faster on the pixel array than through the graphics context.
+   * Pixel operations and {@link Drawable} objects can be mixed, both are applied in the order they're called
+   * (objects deferred by parallel strips are drawn before the pixel buffer is returned).</p>
+   *
+   * <p><b>NOTE:</b> Coordinates are in buffer pixels, unaffected by the resolution scale.
+   * With frame handoff, the buffer changes every frame, so the pixel buffer must be taken again after {@code publishFrame}.
+   * Pixels written directly aren't tracked, so it can't be used in dirty region mode.</p>
+   *
+   * @return The pixel buffer of the current frame.
+   */
+  public PixelBuffer getPixelBuffer() {
+    if (dirtyRegions != null) {
+      throw new IllegalStateException("Cannot write pixels directly in dirty region mode");
+    }
+
+    drawStrips();
+
+    if (frames != null) {
+      Frame frame = frames.getWriteBuffer();
+
+      if (frame.pixels == null) {
+        frame.pixels = new PixelBuffer(frame.image);
+      }
+
+      frame.pixels.setJobSystem(jobSystem);
+
+      return frame.pixels;
+    }
+
+    if (pixels == null) {
+      pixels = new PixelBuffer(buffer);
+      pixels.setJobSystem(jobSystem);
+    }
+
+    return pixels;
   }
 
   /**
    * Draws a drawable object on the buffer.
    *
-   * <p><b>NOTE:</b> For performance reasons, this method draws the object on the buffer image. 
+   * <p><b>NOTE:</b> For performance reasons, this method draws the object on the buffer image.
    * To see the result, you need to call the {@code drawOnScreen} method.</p>
-   * 
+   *
    * @param object The object to be drawn.
    */
   public void draw(Drawable object) {
+    if (dirtyRegions != null) {
+      dirtyRegions.add(object);
+      return;
+    }
+
+    if (strips > 1) {
+      stripDrawables.add(object);
+      return;
+    }
+
     object.draw(graphic, canvas);
   }
 
@@ -41,13 +271,323 @@ public class Renderer {
    * Draws the buffer on the screen, maintaining the canvas aspect ratio;
    */
   public void drawOnScreen() {
-    Graphics screen = canvas.getGraphics();
-    Vector topLeftCorner = canvas.canvasPointToWindow(new Vector(0));
+    if (dirtyRegions != null) {
+      drawDirtyRegions();
+      canvas.nextFrame();
+      return;
+    }
+
+    drawStrips();
+    present(buffer, renderWidth, renderHeight);
+    clear(renderWidth, renderHeight);
+    canvas.nextFrame();
+  }
+
+  /**
+   * Enables handing over finished frames to another thread.
+   *
+   * <p>From now on, frames are drawn into one of three buffers. The drawing thread finishes a frame
+   * with {@code publishFrame}, and the presenting thread puts the newest finished frame on the screen
+   * with {@code presentLatestFrame}. Neither of them waits for the other.</p>
+   *
+   * <p><b>NOTE:</b> It must be called before the first frame is drawn.</p>
+   *
+   * @see TripleBuffer
+   */
+  public void enableFrameHandoff() {
+    if (frames != null) {
+      return;
+    }
+
+    if (dirtyRegions != null) {
+      throw new IllegalStateException("Cannot hand over frames to another thread in dirty region mode");
+    }
+
+    frames = new TripleBuffer<>(() -> new Frame(canvas.getCanvasWidth(), canvas.getCanvasHeight()));
+    useFrame(frames.getWriteBuffer());
+  }
+
+  /**
+   * Marks the drawn frame as finished, so it can be presented by {@code presentLatestFrame},
+   * and prepares an empty buffer for the next frame.
+   *
+   * <p><b>NOTE:</b> Can only be used on the drawing thread after {@code enableFrameHandoff} is called.</p>
+   */
+  public void publishFrame() {
+    Frame frame = frames.getWriteBuffer();
+
+    drawStrips();
+    frame.width = renderWidth;
+    frame.height = renderHeight;
+    frames.publish();
+    useFrame(frames.getWriteBuffer());
+    clear(renderWidth, renderHeight);
+    canvas.nextFrame();
+  }
+
+  /**
+   * Draws the newest finished frame on the screen, maintaining the canvas aspect ratio.
+   *
+   * <p><b>NOTE:</b> Can only be used on the presenting thread after {@code enableFrameHandoff} is called.</p>
+   *
+   * @return {@code true} if a new frame was presented, {@code false} if no frame was finished since the last call.
+   */
+  public boolean presentLatestFrame() {
+    if (!frames.update()) {
+      return false;
+    }
+
+    Frame frame = frames.getReadBuffer();
+
+    present(frame.image, frame.width, frame.height);
+
+    return true;
+  }
+
+  /**
+   * Passes the finished frame to the presenter, if there is any.
+   *
+   * @param image  The frame to present.
+   * @param width  The width of the rendered part of the frame.
+   * @param height The height of the rendered part of the frame.
+   */
+  private void present(BufferedImage image, int width, int height) {
+    Presenter target = presenter;
+
+    if (target != null) {
+      target.present(image, width, height);
+    }
+  }
+
+  /**
+   * Prepares the deferred objects, draws them into all strips of the buffer and waits until they are finished.
+   */
+  private void drawStrips() {
+    if (stripDrawables.isEmpty()) {
+      return;
+    }
+
+    for (int i = 0; i < stripDrawables.size(); i++) {
+      if (stripDrawables.get(i) instanceof Preparable preparable) {
+        preparable.prepare(graphic, canvas);
+      }
+    }
+
+    // The strip jobs and their handles are reused every frame. Detached jobs aren't awaited again by the next update.
+    for (int i = 1; i < strips; i++) {
+      stripHandles[i] = jobSystem != null ? jobSystem.submitDetached(stripJobs[i]) : null;
+    }
+
+    drawStrip(0);
+
+    for (int i = 1; i < strips; i++) {
+      if (stripHandles[i] != null) {
+        stripHandles[i].await();
+        stripHandles[i] = null;
+      }
+      else {
+        drawStrip(i);
+      }
+    }
+
+    stripDrawables.clear();
+  }
+
+  /**
+   * Draws the deferred objects into one strip of the buffer with a separate graphics context.
+   *
+   * @param strip The index of the strip, from the top.
+   */
+  private void drawStrip(int strip) {
+    // WHY? Java2D samples scaled images relative to the clip, so a strip starting in the middle of a canvas pixel
+    // would pick different source rows than drawing the whole frame at once. The edges are aligned to whole canvas pixels.
+    int top = strip * renderHeight / strips / stripAlignment * stripAlignment;
+    int bottom = strip == strips - 1 ? renderHeight : (strip + 1) * renderHeight / strips / stripAlignment * stripAlignment;
+
+    if (top >= bottom) {
+      return;
+    }
+
+    Graphics2D context = buffer.createGraphics();
+
+    // The strip is clipped in buffer pixels, then to the canvas like the graphics context of the whole buffer.
+    context.setClip(0, top, renderWidth, bottom - top);
+    context.setTransform(scaleTransform);
+    context.clipRect(0, 0, buffer.getWidth(), buffer.getHeight());
+
+    for (int i = 0; i < stripDrawables.size(); i++) {
+      stripDrawables.get(i).draw(context, canvas);
+    }
+
+    context.dispose();
+  }
+
+  /**
+   * Redraws the dirty regions of the recorded frame and presents them.
+   */
+  private void drawDirtyRegions() {
+    List<Rectangle> regions = dirtyRegions.computeRegions(buffer.getWidth(), buffer.getHeight());
+    List<Drawable> drawables = dirtyRegions.getDrawables();
+
+    for (Rectangle region : regions) {
+      graphic.setClip(region);
+      graphic.clearRect(region.x, region.y, region.width, region.height);
+
+      for (int i = 0; i < drawables.size(); i++) {
+        Rectangle bounds = dirtyRegions.getBounds(i);
+
+        if (bounds == null || bounds.intersects(region)) {
+          drawables.get(i).draw(graphic, canvas);
+        }
+      }
+    }
+
+    graphic.setClip(0, 0, buffer.getWidth(), buffer.getHeight());
+    dirtyRegions.finishFrame();
+
+    if (dirtyRegionsDebug) {
+      presentDebugFrame(regions);
+    }
+    else if (regions.size() == 1 && regions.get(0).width == buffer.getWidth() && regions.get(0).height == buffer.getHeight()) {
+      present(buffer, renderWidth, renderHeight);
+    }
+    else {
+      presentRegions(regions);
+    }
+  }
+
+  /**
+   * Presents only the specified regions of the buffer.
+   *
+   * @param regions The regions to present, in canvas coordinates.
+   */
+  private void presentRegions(List<Rectangle> regions) {
+    Presenter target = presenter;
+
+    if (target == null) {
+      return;
+    }
+
+    double scale = scaleTransform.getScaleX();
+
+    presentedRegions.clear();
+
+    for (Rectangle region : regions) {
+      int x = (int) Math.floor(region.x * scale);
+      int y = (int) Math.floor(region.y * scale);
+      int right = Math.min(renderWidth, (int) Math.ceil((region.x + region.width) * scale));
+      int bottom = Math.min(renderHeight, (int) Math.ceil((region.y + region.height) * scale));
+
+      presentedRegions.add(new Rectangle(x, y, right - x, bottom - y));
+    }
+
+    target.present(buffer, renderWidth, renderHeight, presentedRegions);
+  }
+
+  /**
+   * Presents a copy of the buffer with outlines of the redrawn regions.
+   *
+   * @param regions The redrawn regions, in canvas coordinates.
+   */
+  private void presentDebugFrame(List<Rectangle> regions) {
+    if (debugFrame == null || debugFrame.getWidth() != buffer.getWidth() || debugFrame.getHeight() != buffer.getHeight()) {
+      debugFrame = new BufferedImage(buffer.getWidth(), buffer.getHeight(), BufferedImage.TYPE_INT_RGB);
+    }
+
+    Graphics2D debugContext = debugFrame.createGraphics();
+
+    debugContext.drawImage(buffer, 0, 0, null);
+    debugContext.setTransform(scaleTransform);
+    debugContext.setColor(Color.MAGENTA);
+
+    for (Rectangle region : regions) {
+      debugContext.drawRect(region.x, region.y, region.width - 1, region.height - 1);
+    }
+
+    debugContext.dispose();
+    present(debugFrame, renderWidth, renderHeight);
+  }
+
+  /**
+   * Changes the internal resolution. The current buffer is cleared entirely,
+   * so no leftovers of the previous resolution become visible.
+   *
+   * @param scale The new scale of the internal resolution.
+   */
+  private void applyScale(float scale) {
+    scaleTransform = AffineTransform.getScaleInstance(scale, scale);
+    renderWidth = Math.max(1, Math.round(buffer.getWidth() * scale));
+    renderHeight = Math.max(1, Math.round(buffer.getHeight() * scale));
+    stripAlignment = getStripAlignment(scale);
+    clear(buffer.getWidth(), buffer.getHeight());
+
+    if (dirtyRegions != null) {
+      dirtyRegions.invalidateAll();
+    }
+  }
+
+  /**
+   * Gets the smallest number of buffer rows covering a whole number of canvas rows, e.g. 3 for the scale of 0.75.
+   *
+   * @param scale The scale of the internal resolution.
+   * @return The number of rows, or 1 if there is no such number up to 64.
+   */
+  private static int getStripAlignment(float scale) {
+    for (int rows = 1; rows <= 64; rows++) {
+      double canvasRows = rows / (double) scale;
+
+      if (Math.abs(canvasRows - Math.round(canvasRows)) < 1e-4) {
+        return rows;
+      }
+    }
+
+    return 1;
+  }
+
+  /**
+   * Clears the top-left part of the buffer and restores the scale transform for the next frame.
+   *
+   * <p>Drawing is clipped to the canvas, so objects like {@link xyz.magicjourney.odyssey.scene.Scene}
+   * can skip everything outside of it.</p>
+   *
+   * <p><b>WHY?</b> Only the rendered part is cleared, so a lower resolution also makes clearing cheaper.</p>
+   *
+   * @param width  The width of the area to clear.
+   * @param height The height of the area to clear.
+   */
+  private void clear(int width, int height) {
+    graphic.setTransform(IDENTITY);
+    graphic.setClip(null);
+    graphic.clearRect(0, 0, width, height);
+    graphic.setTransform(scaleTransform);
+    graphic.setClip(0, 0, buffer.getWidth(), buffer.getHeight());
+  }
+
+  /**
+   * Sets the frame that will be drawn on.
+   *
+   * @param frame The frame to draw on.
+   */
+  private void useFrame(Frame frame) {
+    this.buffer = frame.image;
+    this.graphic = frame.graphic;
+    this.graphic.setTransform(scaleTransform);
+    this.graphic.setClip(0, 0, buffer.getWidth(), buffer.getHeight());
+  }
 
-    canvas.drawBorder(screen);
-    screen.drawImage(buffer, topLeftCorner.getRoundX(), topLeftCorner.getRoundY(), canvas.getCanvasWidth(), canvas.getCanvasHeight(), null);
+  /** Buffer image with its graphics context, pixel access and the size of its rendered part. */
+  private static class Frame {
+    private BufferedImage image;
+    private Graphics2D graphic;
+    private PixelBuffer pixels;
+    private int width;
+    private int height;
 
-    screen.dispose();
-    graphic.clearRect(0, 0, buffer.getWidth(), buffer.getHeight());
+    private Frame(int width, int height) {
+      this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      this.graphic = (Graphics2D) image.getGraphics();
+      this.width = width;
+      this.height = height;
+    }
   }
 }
@@ -0,0 +1,193 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import xyz.magicjourney.odyssey.event.ParameterizedEvent;
+import xyz.magicjourney.odyssey.event.ParameterizedEventGetter;
+
+/**
+ * Adjusts the internal rendering resolution to keep the frame time within the budget.
+ *
+ * <p>When frames take longer than the budget, the renderer draws into a smaller part of its buffer,
+ * which is then scaled up to the window when presented. When there is enough headroom again, the resolution goes back up.</p>
+ *
+ * <p><b>WHY?</b> The cost of drawing (filling pixels) is proportional to the number of pixels, so lowering the resolution
+ * is the cheapest way to keep a steady frame rate on slower machines.</p>
+ *
+ * <p>To avoid oscillating between two resolutions, the scale changes only after the average frame time stays
+ * above the budget (or below the headroom threshold) for a number of consecutive frames, and the threshold for
+ * scaling up is lower than the one for scaling down (hysteresis).</p>
+ *
+ * <p>Screens can subscribe to {@code onScaleChange} to also drop optional quality (e.g. antialiasing or particle counts) under load.</p>
+ *
+ * @see Renderer#useResolutionScaling(ResolutionScaler)
+ */
+public class ResolutionScaler {
+  private long frameBudget;
+  private float minScale;
+  private float maxScale;
+  private float scaleStep;
+  private float headroom;
+  private int framesToScaleDown;
+  private int framesToScaleUp;
+
+  private float scale;
+  private double averageFrameTime;
+  private int overBudgetFrames;
+  private int underBudgetFrames;
+
+  private ParameterizedEvent<Float> scaleChangeEvent;
+
+  /**
+   * Constructs a scaler keeping the frame time within the budget, with scale between 0.5 and 1.
+   *
+   * @param frameBudgetMillis The target frame time (in milliseconds), e.g. 16 for 60 FPS.
+   */
+  public ResolutionScaler(long frameBudgetMillis) {
+    this(frameBudgetMillis, 0.5f);
+  }
+
+  /**
+   * Constructs a scaler keeping the frame time within the budget.
+   *
+   * @param frameBudgetMillis The target frame time (in milliseconds), e.g. 16 for 60 FPS.
+   * @param minScale The smallest allowed scale of the internal resolution, between 0 and 1.
+   */
+  public ResolutionScaler(long frameBudgetMillis, float minScale) {
+    if (frameBudgetMillis <= 0) {
+      throw new IllegalArgumentException("Frame budget must be positive");
+    }
+
+    if (minScale <= 0 || minScale > 1) {
+      throw new IllegalArgumentException("Minimal scale must be in range (0, 1]");
+    }
+
+    this.frameBudget = frameBudgetMillis * 1_000_000;
+    this.minScale = minScale;
+    this.maxScale = 1f;
+    this.scaleStep = 0.125f;
+    this.headroom = 0.75f;
+    this.framesToScaleDown = 15;
+    this.framesToScaleUp = 120;
+    this.scale = 1f;
+    this.averageFrameTime = 0;
+    this.scaleChangeEvent = new ParameterizedEvent<>();
+  }
+
+  /**
+   * Returns an {@link ParameterizedEventGetter} for the "scale change" event.
+   *
+   * <p>The event is emitted on the game thread with the new scale (between the minimal scale and 1)
+   * whenever the internal resolution changes.</p>
+   *
+   * @return An {@link ParameterizedEventGetter} for the "scale change" event.
+   */
+  public ParameterizedEventGetter<Float> onScaleChange() {
+    return scaleChangeEvent;
+  }
+
+  /**
+   * Sets how much the scale changes in a single step.
+   *
+   * @param scaleStep The scale step, between 0 and 1.
+   */
+  public void setScaleStep(float scaleStep) {
+    this.scaleStep = Math.clamp(scaleStep, 0.01f, 1f);
+  }
+
+  /**
+   * Sets the fraction of the budget below which the frame time must fall to scale the resolution up.
+   *
+   * <p>E.g. {@code 0.75} means that the resolution goes up only when frames take less than 75% of the budget.</p>
+   *
+   * @param headroom The fraction of the budget, between 0 and 1.
+   */
+  public void setHeadroom(float headroom) {
+    this.headroom = Math.clamp(headroom, 0.1f, 1f);
+  }
+
+  /**
+   * Sets how many consecutive frames must be over or under the budget before the scale changes.
+   *
+   * @param framesToScaleDown The number of frames over the budget required to scale down.
+   * @param framesToScaleUp The number of frames with enough headroom required to scale up.
+   */
+  public void setReactionTime(int framesToScaleDown, int framesToScaleUp) {
+    this.framesToScaleDown = Math.max(1, framesToScaleDown);
+    this.framesToScaleUp = Math.max(1, framesToScaleUp);
+  }
+
+  /**
+   * Gets the current scale of the internal resolution.
+   *
+   * @return The scale, between the minimal scale and 1.
+   */
+  public float getScale() {
+    return scale;
+  }
+
+  /**
+   * Checks if the resolution is currently lowered because of the load.
+   *
+   * @return {@code true} if the scale is below 1, {@code false} otherwise.
+   */
+  public boolean isDegraded() {
+    return scale < maxScale;
+  }
+
+  /**
+   * Gets the smoothed frame time used to make decisions.
+   *
+   * @return The average frame time (in nanoseconds).
+   */
+  public long getAverageFrameTime() {
+    return (long) averageFrameTime;
+  }
+
+  /**
+   * Records the duration of the last frame and adjusts the scale if needed.
+   *
+   * @param frameTime The time spent on the last frame, excluding waiting for the next one (in nanoseconds).
+   * @return {@code true} if the scale has changed, {@code false} otherwise.
+   */
+  public boolean update(long frameTime) {
+    // Exponential moving average, so a single slow frame (e.g. garbage collection) doesn't change the scale.
+    averageFrameTime = averageFrameTime == 0 ? frameTime : averageFrameTime + (frameTime - averageFrameTime) * 0.1;
+
+    if (averageFrameTime > frameBudget) {
+      overBudgetFrames++;
+      underBudgetFrames = 0;
+    }
+    else if (averageFrameTime < frameBudget * headroom) {
+      underBudgetFrames++;
+      overBudgetFrames = 0;
+    }
+    else {
+      overBudgetFrames = 0;
+      underBudgetFrames = 0;
+    }
+
+    if (overBudgetFrames >= framesToScaleDown && scale > minScale) {
+      return changeScale(Math.max(minScale, scale - scaleStep));
+    }
+
+    if (underBudgetFrames >= framesToScaleUp && scale < maxScale) {
+      return changeScale(Math.min(maxScale, scale + scaleStep));
+    }
+
+    return false;
+  }
+
+  /**
+   * Sets the new scale and notifies the subscribers.
+   *
+   * @param newScale The new scale.
+   * @return Always {@code true}.
+   */
+  private boolean changeScale(float newScale) {
+    scale = newScale;
+    overBudgetFrames = 0;
+    underBudgetFrames = 0;
+    scaleChangeEvent.emit(scale);
+
+    return true;
+  }
+}
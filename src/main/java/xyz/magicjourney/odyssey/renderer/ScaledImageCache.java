@@ -0,0 +1,372 @@
+package xyz.magicjourney.odyssey.renderer;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import xyz.magicjourney.odyssey.resource.loader.ImageConverter;
+
+/**
+ * Caches pre-scaled copies of images, so drawing an image scaled to a common zoom level is a plain 1:1 copy
+ * instead of resampling it every frame.
+ *
+ * <p>Scales are quantized to multiples of the scale step (by default 0.05, the zoom step of the {@link Camera}).
+ * A scale that isn't close to a multiple is not cached, so continuous zooming falls back to drawing scaled.</p>
+ *
+ * <p>Missing copies are built lazily on a background thread: {@code get} returns null until the copy is ready,
+ * and the caller draws the image scaled in the meantime. With smooth interpolation, large reductions are done
+ * in halving steps (a mip chain), which looks better than a single reduction.
+ * When the memory budget is exceeded, the least recently used copies are evicted.</p>
+ *
+ * <p>At most one copy of each source is built at a time. A build is skipped, and its result dropped, if a newer version
+ * of the source has been requested in the meantime, so a source modified every frame (e.g. a camera buffer redrawn
+ * every frame) costs at most one build in flight instead of a growing queue of builds.</p>
+ *
+ * <p><b>NOTE:</b> The source is read by the background thread. If it is modified meanwhile, its version must change,
+ * so the (possibly torn) copy is never returned.</p>
+ */
+public class ScaledImageCache {
+  private static final double SCALE_TOLERANCE = 0.001;
+
+  private long memoryBudget;
+  private double scaleStep;
+  private Object interpolation;
+  private ImageConverter converter;
+  private ExecutorService builder;
+
+  private LinkedHashMap<Key, BufferedImage> images;
+  private IdentityHashMap<BufferedImage, Source> sources;
+  private Key lookup;
+  private long memory;
+  private long hits;
+  private long misses;
+  private long builtImages;
+  private long evictedImages;
+
+  /**
+   * Constructs a cache with the scale step of 0.05, scaling images with nearest neighbour interpolation
+   * (like drawing them scaled without rendering hints).
+   *
+   * @param memoryBudget The maximum memory taken by the cached copies (in bytes).
+   */
+  public ScaledImageCache(long memoryBudget) {
+    this(memoryBudget, 0.05, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+  }
+
+  /**
+   * Constructs a cache.
+   *
+   * @param memoryBudget The maximum memory taken by the cached copies (in bytes).
+   * @param scaleStep The step of cached scales.
+   * @param interpolation The interpolation used for scaling, one of {@code RenderingHints.VALUE_INTERPOLATION_*}.
+   */
+  public ScaledImageCache(long memoryBudget, double scaleStep, Object interpolation) {
+    if (scaleStep <= 0) {
+      throw new IllegalArgumentException("Scale step must be positive");
+    }
+
+    this.memoryBudget = memoryBudget;
+    this.scaleStep = scaleStep;
+    this.interpolation = interpolation;
+    this.converter = new ImageConverter();
+    this.images = new LinkedHashMap<>(16, 0.75f, true);
+    this.sources = new IdentityHashMap<>();
+    this.lookup = new Key(null, 0, 0);
+    this.builder = Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "scaled-image-cache");
+
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Gets the copy of the image scaled to the specified scale, scheduling its build if it's missing.
+   *
+   * @param source The image to scale.
+   * @param version The version of the image content, it must change whenever the image is modified.
+   * @param scale The scale of the copy.
+   * @return The scaled copy (the source itself for the scale of 1), or null if it isn't ready or the scale isn't cached.
+   */
+  public synchronized BufferedImage get(BufferedImage source, long version, double scale) {
+    long level = Math.round(scale / scaleStep);
+
+    if (level <= 0 || Math.abs(scale - level * scaleStep) > SCALE_TOLERANCE) {
+      return null;
+    }
+
+    if (Math.abs(level * scaleStep - 1) <= SCALE_TOLERANCE) {
+      return source;
+    }
+
+    // The lookup key is reused, so a hit doesn't allocate.
+    lookup.source = source;
+    lookup.version = version;
+    lookup.level = level;
+
+    BufferedImage image = images.get(lookup);
+
+    lookup.source = null;
+
+    if (image != null) {
+      hits++;
+      return image;
+    }
+
+    misses++;
+
+    int width = Math.max(1, (int) Math.round(source.getWidth() * level * scaleStep));
+    int height = Math.max(1, (int) Math.round(source.getHeight() * level * scaleStep));
+
+    if (imageMemory(width, height) > memoryBudget || builder.isShutdown()) {
+      return null;
+    }
+
+    Source state = sources.get(source);
+
+    if (state == null) {
+      state = new Source();
+      sources.put(source, state);
+    }
+
+    state.version = Math.max(state.version, version);
+
+    if (!state.building) {
+      Key key = new Key(source, version, level);
+      Source building = state;
+
+      state.building = true;
+      builder.execute(() -> build(key, building, width, height));
+    }
+
+    return null;
+  }
+
+  /**
+   * Removes all cached copies.
+   */
+  public synchronized void clear() {
+    images.clear();
+    sources.values().removeIf(state -> !state.building);
+
+    for (Source state : sources.values()) {
+      state.copies = 0;
+    }
+
+    memory = 0;
+  }
+
+  /**
+   * Stops the background thread. The cache can't build new copies afterwards.
+   */
+  public void dispose() {
+    builder.shutdownNow();
+    clear();
+  }
+
+  /**
+   * Gets the memory taken by the cached copies.
+   *
+   * @return The memory in bytes.
+   */
+  public synchronized long getMemory() {
+    return memory;
+  }
+
+  /**
+   * Gets the number of requests answered with a cached copy.
+   *
+   * @return The number of hits.
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of requests for copies that weren't ready or couldn't be cached.
+   *
+   * @return The number of misses.
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Gets the number of copies built so far.
+   *
+   * @return The number of built copies.
+   */
+  public synchronized long getBuiltImages() {
+    return builtImages;
+  }
+
+  /**
+   * Gets the number of copies evicted to stay within the memory budget.
+   *
+   * @return The number of evicted copies.
+   */
+  public synchronized long getEvictedImages() {
+    return evictedImages;
+  }
+
+  /**
+   * Builds the scaled copy on the background thread and puts it into the cache,
+   * unless a newer version of the source has been requested in the meantime.
+   */
+  private void build(Key key, Source state, int width, int height) {
+    BufferedImage image = null;
+
+    synchronized (this) {
+      if (state.version != key.version) {
+        finishBuild(key, state, null);
+        return;
+      }
+    }
+
+    try {
+      image = scale(key.source, width, height);
+    } catch (RuntimeException e) {
+      System.out.println("Cannot scale image to " + width + "x" + height);
+      e.printStackTrace();
+    }
+
+    synchronized (this) {
+      finishBuild(key, state, image);
+    }
+  }
+
+  /**
+   * Puts the built copy into the cache if it's still of the latest requested version, so another copy can be built.
+   */
+  private void finishBuild(Key key, Source state, BufferedImage image) {
+    state.building = false;
+
+    if (image != null && state.version == key.version) {
+      put(key, state, image);
+    }
+    else {
+      forgetIfUnused(key.source, state);
+    }
+  }
+
+  /**
+   * Scales the image, halving it first while it's at least twice as large as needed (unless the interpolation is nearest neighbour).
+   */
+  private BufferedImage scale(BufferedImage source, int width, int height) {
+    BufferedImage current = source;
+
+    while (interpolation != RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+      && current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+      current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+    }
+
+    return resize(current, width, height);
+  }
+
+  /**
+   * Draws the image resized into a new image in the fastest format for drawing.
+   */
+  private BufferedImage resize(BufferedImage source, int width, int height) {
+    BufferedImage target = converter.createImage(width, height, false);
+    Graphics2D context = target.createGraphics();
+
+    context.setComposite(AlphaComposite.Src);
+    context.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+    context.drawImage(source, 0, 0, width, height, null);
+    context.dispose();
+
+    return target;
+  }
+
+  /**
+   * Puts the copy into the cache, removing copies of older versions of the same image and evicting
+   * the least recently used copies above the memory budget.
+   */
+  private void put(Key key, Source state, BufferedImage image) {
+    Iterator<Map.Entry<Key, BufferedImage>> entries = images.entrySet().iterator();
+
+    while (entries.hasNext()) {
+      Map.Entry<Key, BufferedImage> entry = entries.next();
+
+      if (entry.getKey().source == key.source && entry.getKey().version < key.version) {
+        memory -= imageMemory(entry.getValue().getWidth(), entry.getValue().getHeight());
+        state.copies--;
+        entries.remove();
+      }
+    }
+
+    images.put(key, image);
+    memory += imageMemory(image.getWidth(), image.getHeight());
+    state.copies++;
+    builtImages++;
+    entries = images.entrySet().iterator();
+
+    while (memory > memoryBudget && entries.hasNext()) {
+      Map.Entry<Key, BufferedImage> eldest = entries.next();
+      BufferedImage source = eldest.getKey().source;
+      Source evicted = sources.get(source);
+
+      memory -= imageMemory(eldest.getValue().getWidth(), eldest.getValue().getHeight());
+      entries.remove();
+      evictedImages++;
+      evicted.copies--;
+      forgetIfUnused(source, evicted);
+    }
+  }
+
+  /**
+   * Removes the state of the source when it has no cached copies and no build, so the source can be garbage collected.
+   */
+  private void forgetIfUnused(BufferedImage source, Source state) {
+    if (state.copies == 0 && !state.building) {
+      sources.remove(source);
+    }
+  }
+
+  /**
+   * Gets the approximate memory of an image with 4 bytes per pixel.
+   */
+  private static long imageMemory(int width, int height) {
+    return (long) width * height * 4;
+  }
+
+  /** The newest requested version of a source, whether its copy is being built and the number of its cached copies. */
+  private static final class Source {
+    private long version;
+    private boolean building;
+    private int copies;
+  }
+
+  /** Identifies a scaled copy: the source image (by identity), its version and the quantized scale. */
+  private static final class Key {
+    private BufferedImage source;
+    private long version;
+    private long level;
+
+    private Key(BufferedImage source, long version, long level) {
+      this.source = source;
+      this.version = version;
+      this.level = level;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key key && key.source == source && key.version == version && key.level == level;
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = System.identityHashCode(source);
+
+      hash = 31 * hash + Long.hashCode(version);
+      return 31 * hash + Long.hashCode(level);
+    }
+  }
+}
@@ -0,0 +1,200 @@
+package xyz.magicjourney.odyssey.renderer.text;
+
+import java.awt.Font;
+import java.util.HashMap;
+
+/**
+ * Interns fonts derived from loaded fonts, so all texts with the same font, size and style share one {@link Font} instance.
+ *
+ * <p>{@code Font.deriveFont} creates a new font every time it's called. Derived fonts are cached by the path
+ * of their base font, style and size (see {@code ResourceManager.getFont(String, int, float)}, which owns the cache),
+ * and equal results of different bases are interned as well, so the caches keyed by fonts ({@link TextMetrics},
+ * the font pipeline) see one font instead of many.</p>
+ *
+ * <p>Texts derive their sizes and styles through the default cache ({@link #getDefault()}), which is also the one
+ * of {@code ResourceManager.getFontCache}, so fonts derived by texts and by the manager are interned together.</p>
+ *
+ * <p>The memory is a rough estimate: the 8-bit masks of 224 Latin-1 glyphs per font, which the font pipeline
+ * caches once the glyphs are drawn.</p>
+ *
+ * <p>All methods are synchronized, so fonts can be derived by any thread (e.g. the loading thread).</p>
+ */
+public class FontCache {
+  private static final int ESTIMATED_GLYPHS = 224;
+  private static final FontCache DEFAULT = new FontCache();
+
+  private HashMap<Key, Font> derivedFonts;
+  private HashMap<Font, Font> internedFonts;
+  private long hits;
+  private long misses;
+  private long memory;
+
+  /**
+   * Constructs an empty cache.
+   */
+  public FontCache() {
+    this.derivedFonts = new HashMap<>();
+    this.internedFonts = new HashMap<>();
+  }
+
+  /**
+   * Gets the cache used by texts to derive their fonts.
+   *
+   * @return The default cache.
+   */
+  public static FontCache getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Gets the font derived from the base font loaded from the path, with the specified style and size.
+   *
+   * @param path The file path of the base font.
+   * @param base The base font.
+   * @param style The style of the font ({@code Font.PLAIN}, {@code Font.BOLD}, {@code Font.ITALIC} or a combination).
+   * @param size The size of the font.
+   * @return The shared instance of the derived font.
+   */
+  public synchronized Font derive(String path, Font base, int style, float size) {
+    Key key = new Key(path, style, size);
+    Font font = derivedFonts.get(key);
+
+    if (font != null) {
+      hits++;
+      return font;
+    }
+
+    misses++;
+    font = intern(base.deriveFont(style, size));
+    derivedFonts.put(key, font);
+
+    return font;
+  }
+
+  /**
+   * Gets the font with the specified style and size, deriving it only if the font has a different one.
+   *
+   * <p>The result is interned by equality, so fonts already derived by the cache (e.g. passed to a text from
+   * {@code ResourceManager.getFont}) are kept as they are, and texts resized to the same size and style
+   * share one instance.</p>
+   *
+   * @param font The font.
+   * @param style The style of the font ({@code Font.PLAIN}, {@code Font.BOLD}, {@code Font.ITALIC} or a combination).
+   * @param size The size of the font.
+   * @return The shared instance of the font with the style and size.
+   */
+  public synchronized Font derive(Font font, int style, float size) {
+    if (font.getStyle() == style && font.getSize2D() == size) {
+      Font interned = internedFonts.get(font);
+
+      if (interned != null) {
+        hits++;
+        return interned;
+      }
+    }
+    else {
+      font = font.deriveFont(style, size);
+    }
+
+    misses++;
+
+    return intern(font);
+  }
+
+  /**
+   * Gets the shared instance of the font, holding the font itself if there is none yet.
+   *
+   * @param font The font.
+   * @return The shared instance of the font.
+   */
+  private Font intern(Font font) {
+    Font interned = internedFonts.get(font);
+
+    if (interned != null) {
+      return interned;
+    }
+
+    internedFonts.put(font, font);
+    memory += (long) ESTIMATED_GLYPHS * Math.round(font.getSize2D()) * Math.round(font.getSize2D());
+
+    return font;
+  }
+
+  /**
+   * Removes all cached fonts. The fonts already in use stay valid.
+   */
+  public synchronized void clear() {
+    derivedFonts.clear();
+    internedFonts.clear();
+    memory = 0;
+  }
+
+  /**
+   * Gets the number of requests answered with a cached font.
+   *
+   * @return The number of hits.
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of requests that derived a font.
+   *
+   * @return The number of misses.
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Gets the number of distinct fonts held by the cache.
+   *
+   * @return The number of fonts.
+   */
+  public synchronized int getFontCount() {
+    return internedFonts.size();
+  }
+
+  /**
+   * Gets the estimated memory of the glyph caches of the held fonts.
+   *
+   * @return The memory in bytes.
+   */
+  public synchronized long getMemory() {
+    return memory;
+  }
+
+  /**
+   * Builds a one-line report of the cache statistics.
+   *
+   * @return The report.
+   */
+  public synchronized String summary() {
+    return String.format("Cached %d fonts (%d hits, %d misses), ~%.1fKB of glyphs",
+      internedFonts.size(), hits, misses, memory / 1024.0);
+  }
+
+  /** Identifies a derived font: the path of the base font, the style and the size. */
+  private static final class Key {
+    private final String path;
+    private final int style;
+    private final float size;
+
+    private Key(String path, int style, float size) {
+      this.path = path;
+      this.style = style;
+      this.size = size;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key key && key.path.equals(path) && key.style == style && key.size == size;
+    }
+
+    @Override
+    public int hashCode() {
+      return (path.hashCode() * 31 + style) * 31 + Float.floatToIntBits(size);
+    }
+  }
+}
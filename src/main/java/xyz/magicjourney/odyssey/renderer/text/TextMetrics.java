@@ -0,0 +1,151 @@
+package xyz.magicjourney.odyssey.renderer.text;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+/**
+ * Measures texts with one font render context shared by all of them.
+ *
+ * <p>Font metrics are created once per font (with its size and style), and the widths of measured strings
+ * are memoized, so measuring a text that was already shown (e.g. a label switching between a few states)
+ * doesn't go through the font pipeline again.</p>
+ *
+ * <p>The memo is a table of 1024 slots shared by all fonts, indexed by the hashes of the font and the string
+ * (both cached by their classes). A string replaces the one in its slot, so the memory stays bounded however
+ * many fonts and strings are measured, and widths are kept as {@code int} without boxing.</p>
+ *
+ * <p>Texts created without a service share the default one ({@link #getDefault()}), which is also the one
+ * of {@code ResourceManager.getTextMetrics}, so all texts share one memo unless another service is passed.</p>
+ *
+ * <p>The metrics are those of a graphics context with the default rendering hints (no antialiasing
+ * or fractional metrics), which is how {@link xyz.magicjourney.odyssey.ui.Text} measured itself before.</p>
+ *
+ * <p>All methods are synchronized, so texts can be measured by any thread (e.g. the loading thread).</p>
+ */
+public class TextMetrics {
+  private static final int MEMOIZED_WIDTHS = 1024;
+  private static final TextMetrics DEFAULT = new TextMetrics();
+
+  private Graphics2D context;
+  private FontRenderContext renderContext;
+  private HashMap<Font, FontMetrics> metrics;
+  private Font[] memoFonts;
+  private String[] memoTexts;
+  private int[] memoWidths;
+  private long hits;
+  private long misses;
+
+  /**
+   * Constructs an empty service.
+   */
+  public TextMetrics() {
+    this.context = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+    this.renderContext = context.getFontRenderContext();
+    this.metrics = new HashMap<>();
+    this.memoFonts = new Font[MEMOIZED_WIDTHS];
+    this.memoTexts = new String[MEMOIZED_WIDTHS];
+    this.memoWidths = new int[MEMOIZED_WIDTHS];
+  }
+
+  /**
+   * Gets the service used by texts created without one.
+   *
+   * @return The default service.
+   */
+  public static TextMetrics getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Gets the metrics of the font, creating them on first use.
+   *
+   * @param font The font (with its final size and style).
+   * @return The font metrics.
+   */
+  public synchronized FontMetrics getMetrics(Font font) {
+    FontMetrics fontMetrics = metrics.get(font);
+
+    if (fontMetrics == null) {
+      fontMetrics = context.getFontMetrics(font);
+      metrics.put(font, fontMetrics);
+    }
+
+    return fontMetrics;
+  }
+
+  /**
+   * Gets the width of the string, memoized with the font.
+   *
+   * @param font The font of the text.
+   * @param text The text to measure.
+   * @return The width (in pixels).
+   */
+  public synchronized int stringWidth(Font font, String text) {
+    int hash = font.hashCode() * 31 + text.hashCode();
+    int slot = (hash ^ (hash >>> 16)) & (MEMOIZED_WIDTHS - 1);
+    Font memoFont = memoFonts[slot];
+    String memoText = memoTexts[slot];
+
+    if ((memoFont == font || font.equals(memoFont)) && (memoText == text || text.equals(memoText))) {
+      hits++;
+      return memoWidths[slot];
+    }
+
+    misses++;
+
+    int width = getMetrics(font).stringWidth(text);
+
+    memoFonts[slot] = font;
+    memoTexts[slot] = text;
+    memoWidths[slot] = width;
+
+    return width;
+  }
+
+  /**
+   * Gets the width of the characters without memoizing it.
+   *
+   * <p><b>WHY?</b> Texts that change every frame (counters, timers) would only push the other texts out of the memo,
+   * and measuring characters of Latin-1 doesn't allocate.</p>
+   *
+   * @param font The font of the text.
+   * @param chars The characters to measure.
+   * @param offset The index of the first character.
+   * @param length The number of characters.
+   * @return The width (in pixels).
+   */
+  public synchronized int charsWidth(Font font, char[] chars, int offset, int length) {
+    return getMetrics(font).charsWidth(chars, offset, length);
+  }
+
+  /**
+   * Gets the shared font render context.
+   *
+   * @return The font render context.
+   */
+  public FontRenderContext getFontRenderContext() {
+    return renderContext;
+  }
+
+  /**
+   * Gets the number of string widths found in the memo.
+   *
+   * @return The number of hits.
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of string widths measured by the font metrics.
+   *
+   * @return The number of misses.
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+}
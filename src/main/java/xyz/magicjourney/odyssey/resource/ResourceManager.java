@@ -15,9 +15,18 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import xyz.magicjourney.odyssey.animation.SpriteSheet;
 import xyz.magicjourney.odyssey.event.Event;
 import xyz.magicjourney.odyssey.event.EventGetter;
+import xyz.magicjourney.odyssey.profiler.FramePhase;
+import xyz.magicjourney.odyssey.profiler.FrameProfiler;
+import xyz.magicjourney.odyssey.renderer.text.FontCache;
+import xyz.magicjourney.odyssey.renderer.text.TextMetrics;
+import xyz.magicjourney.odyssey.resource.atlas.AtlasRegion;
+import xyz.magicjourney.odyssey.resource.atlas.TextureAtlas;
+import xyz.magicjourney.odyssey.resource.loader.AsepriteLoader;
 import xyz.magicjourney.odyssey.resource.loader.FontLoader;
+import xyz.magicjourney.odyssey.resource.loader.ImageConverter;
 import xyz.magicjourney.odyssey.resource.loader.ImageLoader;
 import xyz.magicjourney.odyssey.resource.loader.Loader;
 
@@ -31,6 +40,12 @@ public class ResourceManager {
   protected ArrayList<Loader<?>> loaders;
   protected HashMap<String, BufferedImage> images;
   protected HashMap<String, Font> fonts;
+  protected HashMap<String, SpriteSheet> spriteSheets;
+  protected ImageConverter imageConverter;
+  protected HashMap<String, AtlasRegion> sprites;
+  protected TextureAtlas atlas;
+  protected TextMetrics textMetrics;
+  protected FontCache fontCache;
   
   protected Thread loadingThread;
   protected Event finishEvent;
@@ -39,18 +54,26 @@ public class ResourceManager {
   protected long filesLoaded;
   protected String lastLoaded;
 
+  protected FrameProfiler profiler;
+
   public ResourceManager() {
     finishEvent = new Event();
     loaders = new ArrayList<>();
     images = new HashMap<>();
     fonts = new HashMap<>();
+    spriteSheets = new HashMap<>();
+    imageConverter = new ImageConverter();
+    sprites = new HashMap<>();
+    textMetrics = TextMetrics.getDefault();
+    fontCache = FontCache.getDefault();
 
     filesCount = 0;
     filesLoaded = 0;
     lastLoaded = "";
 
-    loaders.add(new ImageLoader(images));
+    loaders.add(new ImageLoader(images, imageConverter));
     loaders.add(new FontLoader(fonts));
+    loaders.add(new AsepriteLoader(spriteSheets, imageConverter));
   }
 
   /**
@@ -65,6 +88,66 @@ public class ResourceManager {
     return finishEvent;
   }
 
+  /**
+   * Sets the profiler measuring the loading time of each file.
+   *
+   * <p><b>NOTE:</b> It must be set before the loading starts.</p>
+   *
+   * @param profiler The profiler, or null to disable measuring.
+   *
+   * @see FramePhase#RESOURCE_LOADING
+   */
+  public void setProfiler(FrameProfiler profiler) {
+    this.profiler = profiler;
+  }
+
+  /**
+   * Enables packing small loaded images into a texture atlas.
+   *
+   * <p>Packed images are returned by {@link #getImage} as sub-images of the atlas pages,
+   * and by {@link #getSprite} as regions that can be drawn straight from the page.</p>
+   *
+   * <p><b>NOTE:</b> It must be set before the loading starts.</p>
+   *
+   * @param atlas The atlas to pack images into, or null to disable packing.
+   */
+  public void setAtlas(TextureAtlas atlas) {
+    this.atlas = atlas;
+  }
+
+  /**
+   * Gets the texture atlas of loaded images.
+   *
+   * @return The atlas, or null if packing is disabled.
+   */
+  public TextureAtlas getAtlas() {
+    return atlas;
+  }
+
+  /**
+   * Gets the converter of loaded images, e.g. to check how many images were converted to a faster format.
+   *
+   * @return The image converter.
+   */
+  public ImageConverter getImageConverter() {
+    return imageConverter;
+  }
+
+  /**
+   * Builds a report of the loading statistics: the converted images and the atlas (if packing is enabled).
+   *
+   * @return The report, one line per statistic.
+   */
+  public String summary() {
+    String summary = imageConverter.summary();
+
+    if (atlas != null) {
+      summary += System.lineSeparator() + atlas.summary();
+    }
+
+    return summary;
+  }
+
   /**
    * Gets the loaded image from the specific file path.
    *
@@ -75,6 +158,25 @@ public class ResourceManager {
     return images.get(path);
   }
 
+  /**
+   * Gets the loaded image from the specific file path as a region of its atlas page.
+   *
+   * <p>Images which weren't packed are returned as regions covering the whole image.</p>
+   *
+   * @param path The file path of the image.
+   * @return The region of the image, or null if not found.
+   */
+  public AtlasRegion getSprite(String path) {
+    AtlasRegion sprite = sprites.get(path);
+
+    if (sprite == null && images.containsKey(path)) {
+      sprite = new AtlasRegion(images.get(path));
+      sprites.put(path, sprite);
+    }
+
+    return sprite;
+  }
+
   /**
    * Gets the loaded font from the specified file path.
    *
@@ -85,6 +187,56 @@ public class ResourceManager {
     return fonts.get(path);
   }
 
+  /**
+   * Gets the loaded font from the specified file path, derived with the specified style and size.
+   *
+   * <p>Derived fonts are interned in the {@link FontCache} of the manager, keyed by the path, style and size,
+   * so all texts with the same font share one instance.</p>
+   *
+   * @param path The file path of the font.
+   * @param style The style of the font ({@code Font.PLAIN}, {@code Font.BOLD}, {@code Font.ITALIC} or a combination).
+   * @param size The size of the font.
+   * @return The derived font, or null if the font is not found.
+   */
+  public Font getFont(String path, int style, float size) {
+    Font font = fonts.get(path);
+
+    return font != null ? fontCache.derive(path, font, style, size) : null;
+  }
+
+  /**
+   * Gets the cache of derived fonts, with the statistics of its use.
+   *
+   * <p>It's the default cache ({@link FontCache#getDefault()}), so it also holds the fonts derived by texts.</p>
+   *
+   * @return The font cache.
+   */
+  public FontCache getFontCache() {
+    return fontCache;
+  }
+
+  /**
+   * Gets the loaded sprite sheet (e.g. of an Aseprite file) from the specified file path.
+   *
+   * @param path The file path of the sprite sheet.
+   * @return The loaded sprite sheet, or null if not found.
+   */
+  public SpriteSheet getSpriteSheet(String path) {
+    return spriteSheets.get(path);
+  }
+
+  /**
+   * Gets the service measuring all texts drawn with the loaded fonts.
+   *
+   * <p>It's the default service ({@link TextMetrics#getDefault()}), so texts created with or without it
+   * share their metrics and memoized widths.</p>
+   *
+   * @return The text metrics.
+   */
+  public TextMetrics getTextMetrics() {
+    return textMetrics;
+  }
+
   /**
    * Initiates the resource loading process in a separate thread.
    * The loading progress can be monitored using other methods.
@@ -107,13 +259,40 @@ public class ResourceManager {
     filesCount = files.size();
 
     for (String file : files) {
+      long start = profiler != null ? profiler.start() : 0;
+
       loadFile(file);
+
+      if (profiler != null) {
+        profiler.end(FramePhase.RESOURCE_LOADING, start);
+      }
+
       updateLoadingProgress(file);
     }
 
+    if (atlas != null) {
+      packImages();
+    }
+
     finishEvent.emit();
   }
 
+  /**
+   * Packs the loaded images into the atlas and replaces them with sub-images of its pages.
+   */
+  private void packImages() {
+    atlas.pack(images);
+
+    for (String path : images.keySet()) {
+      AtlasRegion region = atlas.getRegion(path);
+
+      if (region != null) {
+        sprites.put(path, region);
+        images.put(path, region.getImage());
+      }
+    }
+  }
+
   /**
    * Gets a list of all files in the resource folder.
    * If running from a JAR, retrieves files from the JAR; otherwise, from the {@code src/main/resources} folder.
@@ -250,6 +429,24 @@ public class ResourceManager {
     return lastLoaded;
   }
 
+  /**
+   * Gets the number of files loaded so far.
+   *
+   * @return The number of loaded files.
+   */
+  public long getFilesLoaded() {
+    return filesLoaded;
+  }
+
+  /**
+   * Gets the number of files to load.
+   *
+   * @return The number of files.
+   */
+  public long getFilesCount() {
+    return filesCount;
+  }
+
   /**
    * Gets the loading progress as a percentage.
    *
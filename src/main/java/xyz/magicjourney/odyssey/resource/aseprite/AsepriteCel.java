@@ -0,0 +1,21 @@
+package xyz.magicjourney.odyssey.resource.aseprite;
+
+/**
+ * The image of a layer in a frame of an Aseprite file.
+ *
+ * <p>The pixels are decoded from {@code data} (raw or zlib-compressed, in the color depth of the file)
+ * to straight ARGB after the whole file is read, when the palette is known.</p>
+ */
+class AsepriteCel {
+  int layer;
+  int x;
+  int y;
+  int opacity;
+  int zIndex;
+  int width;
+  int height;
+  boolean compressed;
+  byte[] data;
+  int linkedFrame = -1;
+  int[] pixels;
+}
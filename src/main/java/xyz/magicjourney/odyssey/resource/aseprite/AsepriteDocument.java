@@ -0,0 +1,210 @@
+package xyz.magicjourney.odyssey.resource.aseprite;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import xyz.magicjourney.odyssey.animation.FrameTag;
+import xyz.magicjourney.odyssey.animation.SpriteSheet;
+import xyz.magicjourney.odyssey.resource.loader.ImageConverter;
+
+/**
+ * The content of an Aseprite file: frames with their durations, layers, decoded cels and tags.
+ *
+ * <p>Flattening composites the cels of the chosen layers of every frame into a horizontal strip of frames,
+ * which becomes the image of a {@link SpriteSheet}. Cels are drawn in the order of their layers (adjusted by their z-index)
+ * with the opacity of the cel and the layer. Blend modes other than normal are drawn as normal.</p>
+ *
+ * @see AsepriteReader
+ */
+public class AsepriteDocument {
+  int width;
+  int height;
+  int colorDepth;
+  int transparentIndex;
+  int[] durations;
+  int[] palette;
+  ArrayList<AsepriteLayer> layers;
+  ArrayList<ArrayList<AsepriteCel>> cels;
+  ArrayList<FrameTag> tags;
+
+  /**
+   * Constructs an empty document, filled by the {@link AsepriteReader}.
+   */
+  AsepriteDocument() {
+    this.layers = new ArrayList<>();
+    this.cels = new ArrayList<>();
+    this.tags = new ArrayList<>();
+  }
+
+  /**
+   * Flattens the visible layers (with all their parent groups visible) into a sprite sheet.
+   *
+   * @param converter The converter of the frame strip, or null to keep it in the ARGB format.
+   * @return The sprite sheet.
+   */
+  public SpriteSheet flatten(ImageConverter converter) {
+    boolean[] included = new boolean[layers.size()];
+
+    for (int i = 0; i < included.length; i++) {
+      included[i] = layers.get(i).visible;
+    }
+
+    return flatten(included, converter);
+  }
+
+  /**
+   * Flattens the layers with the specified names into a sprite sheet, whether they are visible or not.
+   *
+   * <p>Useful when a file keeps variants in layers, e.g. the faces of a die.</p>
+   *
+   * @param layerNames The names of the layers to include.
+   * @param converter The converter of the frame strip, or null to keep it in the ARGB format.
+   * @return The sprite sheet.
+   */
+  public SpriteSheet flatten(Collection<String> layerNames, ImageConverter converter) {
+    boolean[] included = new boolean[layers.size()];
+
+    for (int i = 0; i < included.length; i++) {
+      included[i] = layerNames.contains(layers.get(i).name);
+    }
+
+    return flatten(included, converter);
+  }
+
+  /**
+   * Gets the width of a frame.
+   *
+   * @return The frame width.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the height of a frame.
+   *
+   * @return The frame height.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the number of frames.
+   *
+   * @return The number of frames.
+   */
+  public int getFrameCount() {
+    return durations.length;
+  }
+
+  /**
+   * Gets the names of all layers, from the bottom one.
+   *
+   * @return The layer names.
+   */
+  public List<String> getLayerNames() {
+    ArrayList<String> names = new ArrayList<>();
+
+    for (AsepriteLayer layer : layers) {
+      names.add(layer.name);
+    }
+
+    return names;
+  }
+
+  /**
+   * Gets the tags of the file.
+   *
+   * @return The tags.
+   */
+  public List<FrameTag> getTags() {
+    return Collections.unmodifiableList(tags);
+  }
+
+  /**
+   * Composites the included layers of all frames (in parallel) into a strip of frames.
+   */
+  private SpriteSheet flatten(boolean[] included, ImageConverter converter) {
+    BufferedImage strip = new BufferedImage(width * durations.length, height, BufferedImage.TYPE_INT_ARGB);
+    int[] pixels = ((DataBufferInt) strip.getRaster().getDataBuffer()).getData();
+
+    IntStream.range(0, durations.length).parallel().forEach(frame -> composite(frame, included, pixels, strip.getWidth()));
+
+    return new SpriteSheet(converter != null ? converter.convert(strip) : strip, width, height, durations, tags);
+  }
+
+  /**
+   * Draws the included cels of the frame over each other into its part of the strip.
+   */
+  private void composite(int frame, boolean[] included, int[] target, int stride) {
+    ArrayList<AsepriteCel> ordered = new ArrayList<>();
+
+    for (AsepriteCel cel : cels.get(frame)) {
+      if (cel.pixels != null && cel.layer < included.length && included[cel.layer]) {
+        ordered.add(cel);
+      }
+    }
+
+    // The z-index moves a cel among the layers, and wins over the layer order when they are equal.
+    ordered.sort((first, second) -> first.layer + first.zIndex != second.layer + second.zIndex
+      ? Integer.compare(first.layer + first.zIndex, second.layer + second.zIndex)
+      : Integer.compare(first.zIndex, second.zIndex));
+
+    int frameX = frame * width;
+
+    for (AsepriteCel cel : ordered) {
+      int opacity = cel.opacity * layers.get(cel.layer).opacity;
+      int left = Math.max(0, cel.x);
+      int top = Math.max(0, cel.y);
+      int right = Math.min(width, cel.x + cel.width);
+      int bottom = Math.min(height, cel.y + cel.height);
+
+      for (int y = top; y < bottom; y++) {
+        int source = (y - cel.y) * cel.width + (left - cel.x);
+        int destination = y * stride + frameX + left;
+
+        for (int x = left; x < right; x++, source++, destination++) {
+          target[destination] = over(cel.pixels[source], target[destination], opacity);
+        }
+      }
+    }
+  }
+
+  /**
+   * Blends a straight ARGB color over another one.
+   *
+   * @param source The color drawn over.
+   * @param destination The existing color.
+   * @param opacity The opacity of the source multiplied by 255 * 255.
+   * @return The blended color.
+   */
+  private static int over(int source, int destination, int opacity) {
+    int sourceAlpha = (source >>> 24) * opacity / (255 * 255);
+
+    if (sourceAlpha == 0) {
+      return destination;
+    }
+
+    int destinationAlpha = destination >>> 24;
+
+    if (sourceAlpha == 255 || destinationAlpha == 0) {
+      return sourceAlpha << 24 | (source & 0xFFFFFF);
+    }
+
+    // The weights of both colors are multiplied by 255 to keep the precision of integers.
+    int destinationWeight = destinationAlpha * (255 - sourceAlpha);
+    int sourceWeight = sourceAlpha * 255;
+    int alphaWeight = sourceWeight + destinationWeight;
+    int red = (((source >> 16) & 0xFF) * sourceWeight + ((destination >> 16) & 0xFF) * destinationWeight) / alphaWeight;
+    int green = (((source >> 8) & 0xFF) * sourceWeight + ((destination >> 8) & 0xFF) * destinationWeight) / alphaWeight;
+    int blue = ((source & 0xFF) * sourceWeight + (destination & 0xFF) * destinationWeight) / alphaWeight;
+
+    return (alphaWeight / 255) << 24 | red << 16 | green << 8 | blue;
+  }
+}
@@ -0,0 +1,18 @@
+package xyz.magicjourney.odyssey.resource.aseprite;
+
+/**
+ * A layer of an Aseprite file.
+ */
+class AsepriteLayer {
+  static final int VISIBLE = 1;
+  static final int BACKGROUND = 8;
+  static final int REFERENCE = 64;
+  static final int GROUP = 1;
+
+  String name;
+  int flags;
+  int type;
+  int childLevel;
+  int opacity;
+  boolean visible;
+}
@@ -0,0 +1,400 @@
+package xyz.magicjourney.odyssey.resource.aseprite;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import xyz.magicjourney.odyssey.animation.AnimationDirection;
+import xyz.magicjourney.odyssey.animation.FrameTag;
+
+/**
+ * Reads the binary format of Aseprite ({@code .aseprite} and {@code .ase} files).
+ *
+ * <p>Reads the header, the duration of each frame, layers, cels (raw, linked and zlib-compressed images),
+ * tags and the palette. Tilemap layers, user data, slices and color profiles are skipped.
+ * The format is described at https://github.com/aseprite/aseprite/blob/main/docs/ase-file-specs.md</p>
+ *
+ * <p>Once the file is read, the cels are decompressed and converted to ARGB in parallel,
+ * since inflating the images takes most of the reading time.</p>
+ */
+public class AsepriteReader {
+  private static final int FILE_MAGIC = 0xA5E0;
+  private static final int FRAME_MAGIC = 0xF1FA;
+
+  private static final int OLD_PALETTE_CHUNK = 0x0004;
+  private static final int LAYER_CHUNK = 0x2004;
+  private static final int CEL_CHUNK = 0x2005;
+  private static final int TAGS_CHUNK = 0x2018;
+  private static final int PALETTE_CHUNK = 0x2019;
+
+  private static final int RAW_CEL = 0;
+  private static final int LINKED_CEL = 1;
+  private static final int COMPRESSED_CEL = 2;
+
+  private static final int LAYER_OPACITY_VALID = 1;
+
+  /**
+   * Reads the whole stream as an Aseprite file.
+   *
+   * @param input The stream of the file.
+   * @return The read document.
+   * @throws IOException if the stream cannot be read or isn't a valid Aseprite file.
+   */
+  public AsepriteDocument read(InputStream input) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(input.readAllBytes()).order(ByteOrder.LITTLE_ENDIAN);
+
+    buffer.getInt();
+
+    if ((buffer.getShort() & 0xFFFF) != FILE_MAGIC) {
+      throw new IOException("Not an Aseprite file");
+    }
+
+    AsepriteDocument document = new AsepriteDocument();
+    int frameCount = buffer.getShort() & 0xFFFF;
+
+    document.width = buffer.getShort() & 0xFFFF;
+    document.height = buffer.getShort() & 0xFFFF;
+    document.colorDepth = buffer.getShort() & 0xFFFF;
+
+    boolean layerOpacity = (buffer.getInt() & LAYER_OPACITY_VALID) != 0;
+
+    if (document.colorDepth != 32 && document.colorDepth != 16 && document.colorDepth != 8) {
+      throw new IOException("Unsupported color depth " + document.colorDepth);
+    }
+
+    buffer.position(28);
+    document.transparentIndex = buffer.get() & 0xFF;
+    document.durations = new int[frameCount];
+    buffer.position(128);
+
+    for (int frame = 0; frame < frameCount; frame++) {
+      int frameStart = buffer.position();
+      int frameSize = buffer.getInt();
+
+      if ((buffer.getShort() & 0xFFFF) != FRAME_MAGIC) {
+        throw new IOException("Invalid frame " + frame);
+      }
+
+      int oldChunkCount = buffer.getShort() & 0xFFFF;
+
+      document.durations[frame] = buffer.getShort() & 0xFFFF;
+      buffer.getShort();
+
+      int chunkCount = buffer.getInt();
+      ArrayList<AsepriteCel> cels = new ArrayList<>();
+
+      if (chunkCount == 0) {
+        chunkCount = oldChunkCount;
+      }
+
+      for (int chunk = 0; chunk < chunkCount; chunk++) {
+        int chunkStart = buffer.position();
+        int chunkSize = buffer.getInt();
+        int chunkType = buffer.getShort() & 0xFFFF;
+
+        switch (chunkType) {
+          case LAYER_CHUNK -> document.layers.add(readLayer(buffer, layerOpacity));
+          case CEL_CHUNK -> cels.add(readCel(buffer, chunkStart + chunkSize));
+          case TAGS_CHUNK -> readTags(buffer, document.tags);
+          case PALETTE_CHUNK -> readPalette(buffer, document);
+          case OLD_PALETTE_CHUNK -> readOldPalette(buffer, document);
+          default -> { }
+        }
+
+        buffer.position(chunkStart + chunkSize);
+      }
+
+      document.cels.add(cels);
+      buffer.position(frameStart + frameSize);
+    }
+
+    resolveVisibility(document);
+    decodeCels(document);
+
+    return document;
+  }
+
+  /**
+   * Reads a layer chunk.
+   */
+  private AsepriteLayer readLayer(ByteBuffer buffer, boolean layerOpacity) {
+    AsepriteLayer layer = new AsepriteLayer();
+
+    layer.flags = buffer.getShort() & 0xFFFF;
+    layer.type = buffer.getShort() & 0xFFFF;
+    layer.childLevel = buffer.getShort() & 0xFFFF;
+    buffer.getShort();
+    buffer.getShort();
+    buffer.getShort();
+
+    int opacity = buffer.get() & 0xFF;
+
+    layer.opacity = layerOpacity ? opacity : 255;
+    buffer.position(buffer.position() + 3);
+    layer.name = readString(buffer);
+
+    return layer;
+  }
+
+  /**
+   * Reads a cel chunk, keeping its (possibly compressed) pixel data for decoding.
+   */
+  private AsepriteCel readCel(ByteBuffer buffer, int chunkEnd) {
+    AsepriteCel cel = new AsepriteCel();
+
+    cel.layer = buffer.getShort() & 0xFFFF;
+    cel.x = buffer.getShort();
+    cel.y = buffer.getShort();
+    cel.opacity = buffer.get() & 0xFF;
+
+    int type = buffer.getShort() & 0xFFFF;
+
+    cel.zIndex = buffer.getShort();
+    buffer.position(buffer.position() + 5);
+
+    if (type == LINKED_CEL) {
+      cel.linkedFrame = buffer.getShort() & 0xFFFF;
+    }
+    else if (type == RAW_CEL || type == COMPRESSED_CEL) {
+      cel.width = buffer.getShort() & 0xFFFF;
+      cel.height = buffer.getShort() & 0xFFFF;
+      cel.compressed = type == COMPRESSED_CEL;
+      cel.data = new byte[chunkEnd - buffer.position()];
+      buffer.get(cel.data);
+    }
+
+    return cel;
+  }
+
+  /**
+   * Reads the tags chunk.
+   */
+  private void readTags(ByteBuffer buffer, ArrayList<FrameTag> tags) {
+    int count = buffer.getShort() & 0xFFFF;
+
+    buffer.position(buffer.position() + 8);
+
+    for (int i = 0; i < count; i++) {
+      int from = buffer.getShort() & 0xFFFF;
+      int to = buffer.getShort() & 0xFFFF;
+      int direction = buffer.get() & 0xFF;
+      int repeat = buffer.getShort() & 0xFFFF;
+
+      buffer.position(buffer.position() + 6 + 3 + 1);
+
+      AnimationDirection[] directions = AnimationDirection.values();
+
+      tags.add(new FrameTag(readString(buffer), from, to, directions[Math.min(direction, directions.length - 1)], repeat));
+    }
+  }
+
+  /**
+   * Reads the palette chunk into the palette of the document.
+   */
+  private void readPalette(ByteBuffer buffer, AsepriteDocument document) {
+    int size = buffer.getInt();
+    int first = buffer.getInt();
+    int last = buffer.getInt();
+
+    buffer.position(buffer.position() + 8);
+    ensurePaletteSize(document, size);
+
+    for (int i = first; i <= last; i++) {
+      int flags = buffer.getShort() & 0xFFFF;
+      int red = buffer.get() & 0xFF;
+      int green = buffer.get() & 0xFF;
+      int blue = buffer.get() & 0xFF;
+      int alpha = buffer.get() & 0xFF;
+
+      document.palette[i] = alpha << 24 | red << 16 | green << 8 | blue;
+
+      if ((flags & 1) != 0) {
+        readString(buffer);
+      }
+    }
+  }
+
+  /**
+   * Reads the palette chunk of old files (used when there is no new palette chunk).
+   */
+  private void readOldPalette(ByteBuffer buffer, AsepriteDocument document) {
+    if (document.palette != null) {
+      return;
+    }
+
+    int packets = buffer.getShort() & 0xFFFF;
+    int index = 0;
+
+    ensurePaletteSize(document, 256);
+
+    for (int packet = 0; packet < packets; packet++) {
+      index += buffer.get() & 0xFF;
+
+      int count = buffer.get() & 0xFF;
+
+      for (int i = 0; i < (count == 0 ? 256 : count) && index < 256; i++, index++) {
+        document.palette[index] = 0xFF000000 | (buffer.get() & 0xFF) << 16 | (buffer.get() & 0xFF) << 8 | (buffer.get() & 0xFF);
+      }
+    }
+  }
+
+  /**
+   * Makes the palette of the document at least as large as the specified size.
+   */
+  private void ensurePaletteSize(AsepriteDocument document, int size) {
+    if (document.palette == null || document.palette.length < size) {
+      int[] palette = new int[Math.max(256, size)];
+
+      if (document.palette != null) {
+        System.arraycopy(document.palette, 0, palette, 0, document.palette.length);
+      }
+
+      document.palette = palette;
+    }
+  }
+
+  /**
+   * Marks the layers that are visible with all their parent groups, excluding reference layers.
+   */
+  private void resolveVisibility(AsepriteDocument document) {
+    ArrayList<AsepriteLayer> parents = new ArrayList<>();
+
+    for (AsepriteLayer layer : document.layers) {
+      while (parents.size() > layer.childLevel) {
+        parents.remove(parents.size() - 1);
+      }
+
+      boolean parentVisible = parents.isEmpty() || parents.get(parents.size() - 1).visible;
+
+      layer.visible = parentVisible && (layer.flags & AsepriteLayer.VISIBLE) != 0 && (layer.flags & AsepriteLayer.REFERENCE) == 0;
+
+      if (layer.type == AsepriteLayer.GROUP) {
+        parents.add(layer);
+      }
+    }
+  }
+
+  /**
+   * Decodes the pixels of all cels in parallel, then shares them with the cels linked to them.
+   *
+   * <p><b>WHY?</b> The common fork/join pool is used instead of the {@link xyz.magicjourney.odyssey.job.JobSystem},
+   * because the engine waits for all jobs of its job system every frame, so a long loading job would stall the game loop.</p>
+   */
+  private void decodeCels(AsepriteDocument document) throws IOException {
+    ArrayList<AsepriteCel> all = new ArrayList<>();
+
+    for (ArrayList<AsepriteCel> cels : document.cels) {
+      for (AsepriteCel cel : cels) {
+        if (cel.data != null) {
+          all.add(cel);
+        }
+      }
+    }
+
+    try {
+      all.parallelStream().forEach(cel -> cel.pixels = decode(cel, document));
+    } catch (IllegalStateException e) {
+      throw new IOException("Cannot decode cel", e);
+    }
+
+    for (ArrayList<AsepriteCel> cels : document.cels) {
+      for (AsepriteCel cel : cels) {
+        if (cel.linkedFrame >= 0) {
+          link(cel, document);
+        }
+      }
+    }
+  }
+
+  /**
+   * Shares the pixels of the cel of the same layer in the linked frame.
+   */
+  private void link(AsepriteCel cel, AsepriteDocument document) {
+    if (cel.linkedFrame >= document.cels.size()) {
+      return;
+    }
+
+    for (AsepriteCel linked : document.cels.get(cel.linkedFrame)) {
+      if (linked.layer == cel.layer && linked.pixels != null) {
+        cel.width = linked.width;
+        cel.height = linked.height;
+        cel.pixels = linked.pixels;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Decompresses the cel data if needed and converts its pixels to straight ARGB.
+   */
+  private int[] decode(AsepriteCel cel, AsepriteDocument document) {
+    int bytesPerPixel = document.colorDepth / 8;
+    byte[] raw = cel.data;
+
+    if (cel.compressed) {
+      raw = new byte[cel.width * cel.height * bytesPerPixel];
+
+      Inflater inflater = new Inflater();
+
+      inflater.setInput(cel.data);
+
+      try {
+        int length = 0;
+
+        while (length < raw.length && !inflater.finished()) {
+          int inflated = inflater.inflate(raw, length, raw.length - length);
+
+          if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+            break;
+          }
+
+          length += inflated;
+        }
+      } catch (DataFormatException e) {
+        throw new IllegalStateException(e);
+      }
+
+      inflater.end();
+    }
+
+    int[] pixels = new int[cel.width * cel.height];
+    boolean background = cel.layer < document.layers.size()
+      && (document.layers.get(cel.layer).flags & AsepriteLayer.BACKGROUND) != 0;
+
+    for (int i = 0, offset = 0; i < pixels.length && offset + bytesPerPixel <= raw.length; i++, offset += bytesPerPixel) {
+      pixels[i] = switch (document.colorDepth) {
+        case 32 -> (raw[offset + 3] & 0xFF) << 24 | (raw[offset] & 0xFF) << 16 | (raw[offset + 1] & 0xFF) << 8 | (raw[offset + 2] & 0xFF);
+        case 16 -> (raw[offset + 1] & 0xFF) << 24 | (raw[offset] & 0xFF) * 0x010101;
+        default -> {
+          int index = raw[offset] & 0xFF;
+
+          if ((index == document.transparentIndex && !background) || document.palette == null || index >= document.palette.length) {
+            yield 0;
+          }
+
+          yield document.palette[index];
+        }
+      };
+    }
+
+    cel.data = null;
+
+    return pixels;
+  }
+
+  /**
+   * Reads a string stored as its length and UTF-8 bytes.
+   */
+  private String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+
+    buffer.get(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,111 @@
+package xyz.magicjourney.odyssey.resource.atlas;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * A rectangular part of an image, e.g. a sprite packed into a texture atlas page.
+ */
+public class AtlasRegion {
+  private BufferedImage page;
+  private int x;
+  private int y;
+  private int width;
+  private int height;
+  private BufferedImage image;
+
+  /**
+   * Constructs a region covering the whole image.
+   *
+   * @param image The image.
+   */
+  public AtlasRegion(BufferedImage image) {
+    this(image, 0, 0, image.getWidth(), image.getHeight());
+  }
+
+  /**
+   * Constructs a region of the image.
+   *
+   * @param page The image containing the region.
+   * @param x The x-coordinate of the region in the image.
+   * @param y The y-coordinate of the region in the image.
+   * @param width The width of the region.
+   * @param height The height of the region.
+   */
+  public AtlasRegion(BufferedImage page, int x, int y, int width, int height) {
+    this.page = page;
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Draws the region with its top-left corner at the specified position.
+   *
+   * @param context The graphics context.
+   * @param x The x-coordinate of the top-left corner.
+   * @param y The y-coordinate of the top-left corner.
+   */
+  public void draw(Graphics2D context, int x, int y) {
+    context.drawImage(page, x, y, x + width, y + height, this.x, this.y, this.x + width, this.y + height, null);
+  }
+
+  /**
+   * Gets the region as a separate image sharing the pixels of the page.
+   *
+   * @return The sub-image of the page.
+   */
+  public BufferedImage getImage() {
+    if (image == null) {
+      image = x == 0 && y == 0 && width == page.getWidth() && height == page.getHeight() ? page : page.getSubimage(x, y, width, height);
+    }
+
+    return image;
+  }
+
+  /**
+   * Gets the image containing the region.
+   *
+   * @return The atlas page.
+   */
+  public BufferedImage getPage() {
+    return page;
+  }
+
+  /**
+   * Gets the x-coordinate of the region in the page.
+   *
+   * @return The x-coordinate.
+   */
+  public int getX() {
+    return x;
+  }
+
+  /**
+   * Gets the y-coordinate of the region in the page.
+   *
+   * @return The y-coordinate.
+   */
+  public int getY() {
+    return y;
+  }
+
+  /**
+   * Gets the width of the region.
+   *
+   * @return The width.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the height of the region.
+   *
+   * @return The height.
+   */
+  public int getHeight() {
+    return height;
+  }
+}
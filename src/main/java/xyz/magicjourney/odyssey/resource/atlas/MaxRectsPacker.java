@@ -0,0 +1,144 @@
+package xyz.magicjourney.odyssey.resource.atlas;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+
+/**
+ * Packs rectangles into a single page using the MaxRects algorithm with the "best short side fit" heuristic.
+ *
+ * <p>The packer keeps a list of maximal free rectangles (which may overlap). Each rectangle is placed
+ * in the free rectangle that leaves the smallest leftover on its shorter side, then all free rectangles
+ * overlapping it are split, and those contained in others are removed.</p>
+ */
+public class MaxRectsPacker {
+  private int width;
+  private int height;
+  private ArrayList<Rectangle> freeRectangles;
+
+  /**
+   * Constructs an empty page.
+   *
+   * @param width The width of the page.
+   * @param height The height of the page.
+   */
+  public MaxRectsPacker(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.freeRectangles = new ArrayList<>();
+    this.freeRectangles.add(new Rectangle(0, 0, width, height));
+  }
+
+  /**
+   * Places a rectangle of the specified size in the page.
+   *
+   * @param rectangleWidth The width of the rectangle.
+   * @param rectangleHeight The height of the rectangle.
+   * @return The position of the rectangle, or null if it doesn't fit.
+   */
+  public Rectangle insert(int rectangleWidth, int rectangleHeight) {
+    Rectangle best = null;
+    int bestShortSide = Integer.MAX_VALUE;
+    int bestLongSide = Integer.MAX_VALUE;
+
+    for (Rectangle free : freeRectangles) {
+      if (free.width < rectangleWidth || free.height < rectangleHeight) {
+        continue;
+      }
+
+      int leftoverX = free.width - rectangleWidth;
+      int leftoverY = free.height - rectangleHeight;
+      int shortSide = Math.min(leftoverX, leftoverY);
+      int longSide = Math.max(leftoverX, leftoverY);
+
+      if (shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+        best = free;
+        bestShortSide = shortSide;
+        bestLongSide = longSide;
+      }
+    }
+
+    if (best == null) {
+      return null;
+    }
+
+    Rectangle placed = new Rectangle(best.x, best.y, rectangleWidth, rectangleHeight);
+
+    splitFreeRectangles(placed);
+    removeContainedRectangles();
+
+    return placed;
+  }
+
+  /**
+   * Gets the width of the page.
+   *
+   * @return The page width.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the height of the page.
+   *
+   * @return The page height.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Replaces every free rectangle overlapping the placed one with up to four maximal rectangles around it.
+   */
+  private void splitFreeRectangles(Rectangle placed) {
+    ArrayList<Rectangle> split = new ArrayList<>();
+
+    for (int i = freeRectangles.size() - 1; i >= 0; i--) {
+      Rectangle free = freeRectangles.get(i);
+
+      if (!free.intersects(placed)) {
+        continue;
+      }
+
+      freeRectangles.remove(i);
+
+      if (placed.x > free.x) {
+        split.add(new Rectangle(free.x, free.y, placed.x - free.x, free.height));
+      }
+
+      if (placed.x + placed.width < free.x + free.width) {
+        split.add(new Rectangle(placed.x + placed.width, free.y, free.x + free.width - placed.x - placed.width, free.height));
+      }
+
+      if (placed.y > free.y) {
+        split.add(new Rectangle(free.x, free.y, free.width, placed.y - free.y));
+      }
+
+      if (placed.y + placed.height < free.y + free.height) {
+        split.add(new Rectangle(free.x, placed.y + placed.height, free.width, free.y + free.height - placed.y - placed.height));
+      }
+    }
+
+    freeRectangles.addAll(split);
+  }
+
+  /**
+   * Removes free rectangles that are fully contained in other free rectangles.
+   */
+  private void removeContainedRectangles() {
+    for (int i = 0; i < freeRectangles.size(); i++) {
+      for (int j = i + 1; j < freeRectangles.size(); j++) {
+        if (freeRectangles.get(j).contains(freeRectangles.get(i))) {
+          freeRectangles.remove(i);
+          i--;
+          break;
+        }
+
+        if (freeRectangles.get(i).contains(freeRectangles.get(j))) {
+          freeRectangles.remove(j);
+          j--;
+        }
+      }
+    }
+  }
+}
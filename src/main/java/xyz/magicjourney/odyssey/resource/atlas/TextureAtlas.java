@@ -0,0 +1,326 @@
+package xyz.magicjourney.odyssey.resource.atlas;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import xyz.magicjourney.odyssey.resource.loader.ImageConverter;
+
+/**
+ * Packs small images into a few large pages, so drawing many sprites needs only a few source images.
+ *
+ * <p>Images are packed with {@link MaxRectsPacker} in a deterministic order (the larger side first, then the area,
+ * then the path), so the same set of images always gives the same layout.
+ * The layout is cached in the temporary directory under a hash of the page size, padding, paths and sizes,
+ * so the next run with the same images only copies pixels instead of packing again.</p>
+ *
+ * <p><b>NOTE:</b> Images larger than the maximum sprite size are not packed; {@link #getRegion} returns null for them.</p>
+ */
+public class TextureAtlas {
+  private static final int CACHE_VERSION = 1;
+
+  private int pageSize;
+  private int maxSpriteSize;
+  private int padding;
+  private ImageConverter converter;
+  private ArrayList<BufferedImage> pages;
+  private HashMap<String, AtlasRegion> regions;
+  private boolean layoutCached;
+  private long packingTime;
+
+  /**
+   * Constructs an atlas with 2048x2048 pages, packing images up to 256 pixels with 1 pixel of padding.
+   *
+   * @param converter The converter creating pages in the format best suited for the screen.
+   */
+  public TextureAtlas(ImageConverter converter) {
+    this(converter, 2048, 256, 1);
+  }
+
+  /**
+   * Constructs an atlas.
+   *
+   * @param converter The converter creating pages in the format best suited for the screen.
+   * @param pageSize The width and height of each page.
+   * @param maxSpriteSize The maximum width and height of packed images.
+   * @param padding The empty space around each image, preventing neighbours from bleeding in when scaled.
+   */
+  public TextureAtlas(ImageConverter converter, int pageSize, int maxSpriteSize, int padding) {
+    if (maxSpriteSize + 2 * padding > pageSize) {
+      throw new IllegalArgumentException("Sprites of " + maxSpriteSize + " pixels don't fit into " + pageSize + " pixel pages.");
+    }
+
+    this.converter = converter;
+    this.pageSize = pageSize;
+    this.maxSpriteSize = maxSpriteSize;
+    this.padding = padding;
+    this.pages = new ArrayList<>();
+    this.regions = new HashMap<>();
+  }
+
+  /**
+   * Packs the images small enough to fit into pages, replacing any previously packed ones.
+   *
+   * @param images The images by their paths.
+   */
+  public void pack(Map<String, BufferedImage> images) {
+    long start = System.nanoTime();
+    List<String> paths = getPackablePaths(images);
+    Path cacheFile = getCacheFile(paths, images);
+    HashMap<String, int[]> layout = cacheFile != null ? readLayout(cacheFile, paths) : null;
+
+    layoutCached = layout != null;
+
+    if (layout == null) {
+      layout = computeLayout(paths, images);
+
+      if (cacheFile != null) {
+        writeLayout(cacheFile, paths, layout);
+      }
+    }
+
+    createPages(paths, images, layout);
+    packingTime = System.nanoTime() - start;
+  }
+
+  /**
+   * Gets the region of the packed image.
+   *
+   * @param path The path of the image.
+   * @return The region in one of the pages, or null if the image wasn't packed.
+   */
+  public AtlasRegion getRegion(String path) {
+    return regions.get(path);
+  }
+
+  /**
+   * Gets the pages of the atlas.
+   *
+   * @return The page images.
+   */
+  public List<BufferedImage> getPages() {
+    return pages;
+  }
+
+  /**
+   * Gets the number of packed images.
+   *
+   * @return The number of regions.
+   */
+  public int getRegionCount() {
+    return regions.size();
+  }
+
+  /**
+   * Checks whether the last layout was read from the cache instead of being packed.
+   *
+   * @return True if the layout was cached.
+   */
+  public boolean isLayoutCached() {
+    return layoutCached;
+  }
+
+  /**
+   * Gets a summary of the last packing.
+   *
+   * @return The summary text.
+   */
+  public String summary() {
+    return String.format(
+      "Packed %d images into %d atlas pages in %.2f ms%s.",
+      regions.size(), pages.size(), packingTime / 1_000_000.0, layoutCached ? " (cached layout)" : ""
+    );
+  }
+
+  /**
+   * Gets the paths of the images to pack in the deterministic packing order.
+   */
+  private List<String> getPackablePaths(Map<String, BufferedImage> images) {
+    Comparator<String> order = Comparator
+      .<String>comparingInt(path -> Math.max(images.get(path).getWidth(), images.get(path).getHeight())).reversed()
+      .thenComparing(Comparator.<String>comparingInt(path -> images.get(path).getWidth() * images.get(path).getHeight()).reversed())
+      .thenComparing(Comparator.naturalOrder());
+
+    return images.entrySet().stream()
+      .filter(entry -> entry.getValue().getWidth() <= maxSpriteSize && entry.getValue().getHeight() <= maxSpriteSize)
+      .map(Map.Entry::getKey)
+      .sorted(order)
+      .toList();
+  }
+
+  /**
+   * Packs the images into as many pages as needed.
+   *
+   * @return The page index, x and y of each image by its path.
+   */
+  private HashMap<String, int[]> computeLayout(List<String> paths, Map<String, BufferedImage> images) {
+    HashMap<String, int[]> layout = new HashMap<>();
+    ArrayList<MaxRectsPacker> packers = new ArrayList<>();
+
+    for (String path : paths) {
+      BufferedImage image = images.get(path);
+      int width = image.getWidth() + 2 * padding;
+      int height = image.getHeight() + 2 * padding;
+      Rectangle placed = null;
+      int page = 0;
+
+      for (; page < packers.size() && placed == null; page++) {
+        placed = packers.get(page).insert(width, height);
+      }
+
+      if (placed == null) {
+        packers.add(new MaxRectsPacker(pageSize, pageSize));
+        placed = packers.get(page).insert(width, height);
+        page++;
+      }
+
+      layout.put(path, new int[] { page - 1, placed.x + padding, placed.y + padding });
+    }
+
+    return layout;
+  }
+
+  /**
+   * Copies the images into the pages and creates their regions.
+   *
+   * <p><b>NOTE:</b> Each page is only as large as the area actually used, so a few sprites don't take a whole page of memory.</p>
+   */
+  private void createPages(List<String> paths, Map<String, BufferedImage> images, HashMap<String, int[]> layout) {
+    int pageCount = layout.values().stream().mapToInt(position -> position[0] + 1).max().orElse(0);
+    int[] pageWidths = new int[pageCount];
+    int[] pageHeights = new int[pageCount];
+    ArrayList<Graphics2D> contexts = new ArrayList<>();
+
+    pages.clear();
+    regions.clear();
+
+    for (String path : paths) {
+      BufferedImage image = images.get(path);
+      int[] position = layout.get(path);
+
+      pageWidths[position[0]] = Math.max(pageWidths[position[0]], position[1] + image.getWidth() + padding);
+      pageHeights[position[0]] = Math.max(pageHeights[position[0]], position[2] + image.getHeight() + padding);
+    }
+
+    for (int i = 0; i < pageCount; i++) {
+      BufferedImage page = converter.createImage(pageWidths[i], pageHeights[i], false);
+      Graphics2D context = page.createGraphics();
+
+      context.setComposite(AlphaComposite.Src);
+      pages.add(page);
+      contexts.add(context);
+    }
+
+    for (String path : paths) {
+      BufferedImage image = images.get(path);
+      int[] position = layout.get(path);
+
+      contexts.get(position[0]).drawImage(image, position[1], position[2], null);
+      regions.put(path, new AtlasRegion(pages.get(position[0]), position[1], position[2], image.getWidth(), image.getHeight()));
+    }
+
+    contexts.forEach(Graphics2D::dispose);
+  }
+
+  /**
+   * Gets the cache file of the layout, named after a hash of everything the layout depends on.
+   *
+   * @return The cache file path, or null if the hash cannot be computed.
+   */
+  private Path getCacheFile(List<String> paths, Map<String, BufferedImage> images) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      StringBuilder key = new StringBuilder();
+
+      key.append(CACHE_VERSION).append('|').append(pageSize).append('|').append(padding);
+
+      for (String path : paths) {
+        BufferedImage image = images.get(path);
+
+        key.append('|').append(path).append(':').append(image.getWidth()).append('x').append(image.getHeight());
+      }
+
+      byte[] hash = digest.digest(key.toString().getBytes(StandardCharsets.UTF_8));
+      StringBuilder name = new StringBuilder("odyssey-atlas-");
+
+      for (int i = 0; i < 8; i++) {
+        name.append(String.format("%02x", hash[i]));
+      }
+
+      return Paths.get(System.getProperty("java.io.tmpdir"), name.append(".layout").toString());
+    } catch (NoSuchAlgorithmException e) {
+      e.printStackTrace();
+      return null;
+    }
+  }
+
+  /**
+   * Reads the cached layout.
+   *
+   * @return The layout, or null if it's missing or doesn't match the images.
+   */
+  private HashMap<String, int[]> readLayout(Path file, List<String> paths) {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+
+    try (InputStream stream = Files.newInputStream(file); DataInputStream input = new DataInputStream(stream)) {
+      if (input.readInt() != CACHE_VERSION || input.readInt() != paths.size()) {
+        return null;
+      }
+
+      HashMap<String, int[]> layout = new HashMap<>();
+
+      for (String path : paths) {
+        if (!input.readUTF().equals(path)) {
+          return null;
+        }
+
+        layout.put(path, new int[] { input.readInt(), input.readInt(), input.readInt() });
+      }
+
+      return layout;
+    } catch (IOException e) {
+      System.out.println("Cannot read the atlas layout cache: " + file);
+      return null;
+    }
+  }
+
+  /**
+   * Writes the layout to the cache file.
+   */
+  private void writeLayout(Path file, List<String> paths, HashMap<String, int[]> layout) {
+    try (OutputStream stream = Files.newOutputStream(file); DataOutputStream output = new DataOutputStream(stream)) {
+      output.writeInt(CACHE_VERSION);
+      output.writeInt(paths.size());
+
+      for (String path : paths) {
+        int[] position = layout.get(path);
+
+        output.writeUTF(path);
+        output.writeInt(position[0]);
+        output.writeInt(position[1]);
+        output.writeInt(position[2]);
+      }
+    } catch (IOException e) {
+      System.out.println("Cannot write the atlas layout cache: " + file);
+    }
+  }
+}
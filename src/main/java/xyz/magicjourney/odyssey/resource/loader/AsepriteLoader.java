@@ -0,0 +1,48 @@
+package xyz.magicjourney.odyssey.resource.loader;
+
+import java.io.InputStream;
+import java.util.HashMap;
+
+import xyz.magicjourney.odyssey.animation.SpriteSheet;
+import xyz.magicjourney.odyssey.resource.aseprite.AsepriteReader;
+
+/**
+ * A loader for Aseprite files, producing sprite sheets with the visible layers flattened into a strip of frames.
+ *
+ * @see AsepriteReader
+ */
+public class AsepriteLoader extends Loader<SpriteSheet> {
+  private ImageConverter converter;
+
+  /**
+   * Constructs an AsepriteLoader with the specified storage for loaded sprite sheets,
+   * converting their images to the fastest format for drawing.
+   *
+   * @param storage The storage for loaded sprite sheets.
+   * @param converter The converter of the frame strips, or null to keep them in the ARGB format.
+   */
+  public AsepriteLoader(HashMap<String, SpriteSheet> storage, ImageConverter converter) {
+    super(storage, new String[] { ".aseprite", ".ase" });
+    this.converter = converter;
+  }
+
+  /**
+   * Loads a sprite sheet from the specified path.
+   *
+   * @param path The path of the Aseprite file.
+   * @return The sprite sheet with all frames and tags of the file.
+   * @throws Exception if an error occurs during loading.
+   */
+  @Override
+  protected SpriteSheet loadResource(String path) throws Exception {
+    InputStream input = getClass().getResourceAsStream(path);
+
+    if (input == null) {
+      throw new IllegalArgumentException("Resource " + path + " not found");
+    }
+
+    try (input) {
+      return new AsepriteReader().read(input).flatten(converter);
+    }
+  }
+}
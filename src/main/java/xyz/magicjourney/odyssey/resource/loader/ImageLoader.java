@@ -9,6 +9,7 @@ import javax.imageio.ImageIO;
  * A loader for handling image resources.
  */
 public class ImageLoader extends Loader<BufferedImage> {
+  private ImageConverter converter;
 
   /**
    * Constructs an ImageLoader with the specified storage for loaded images.
@@ -16,18 +17,32 @@ public class ImageLoader extends Loader<BufferedImage> {
    * @param storage The storage for loaded images.
    */
   public ImageLoader(HashMap<String, BufferedImage> storage) {
+    this(storage, new ImageConverter());
+  }
+
+  /**
+   * Constructs an ImageLoader with the specified storage for loaded images,
+   * converting them to the fastest format for drawing.
+   *
+   * @param storage The storage for loaded images.
+   * @param converter The converter of loaded images, or null to keep the format of the files.
+   */
+  public ImageLoader(HashMap<String, BufferedImage> storage, ImageConverter converter) {
     super(storage, new String[] {".png", ".jpg"});
+    this.converter = converter;
   }
 
   /**
    * Loads an image resource from the specified path.
    *
    * @param path The path of the image resource.
-   * @return The loaded BufferedImage.
+   * @return The loaded BufferedImage, converted to the fastest format for drawing.
    * @throws Exception if an error occurs during loading.
    */
   @Override
   protected BufferedImage loadResource(String path) throws Exception {
-    return ImageIO.read(getClass().getResourceAsStream(path));
+    BufferedImage image = ImageIO.read(getClass().getResourceAsStream(path));
+
+    return converter != null ? converter.convert(image) : image;
   }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package xyz.magicjourney.odyssey.scene;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.Preparable;
+
+/**
+ * A retained scene graph: the objects of a screen organized in ordered layers of {@link SceneNode}s.
+ *
+ * <p>Instead of drawing every object every frame, a screen builds the scene once, modifies the nodes when needed
+ * and draws the whole scene with a single {@code renderer.draw(scene)}. Nodes outside the visible area
+ * are skipped together with their children, so large scenes cost proportional to what is visible.</p>
+ *
+ * <p>The visible area is the clip of the graphics context: the canvas when drawn by the renderer,
+ * the visible part of the world when rendered by a camera (see {@link xyz.magicjourney.odyssey.renderer.Camera}),
+ * or the redrawn region in dirty region mode. If there is no clip, nothing is culled.</p>
+ *
+ * <p>Cached transforms and bounds are updated while drawing, so before the scene is drawn by several threads
+ * at once, it must be prepared on one of them (the renderer does it in parallel strip mode). Preparing the scene
+ * also prepares the {@link Preparable} content of its nodes.</p>
+ */
+public class Scene implements Preparable {
+  private ArrayList<SceneLayer> layers;
+  private SceneStatistics statistics;
+
+  public Scene() {
+    this.layers = new ArrayList<>();
+    this.statistics = new SceneStatistics();
+  }
+
+  /**
+   * Adds a new layer to the scene.
+   *
+   * @param name The name of the layer.
+   * @param order The drawing order of the layer, layers with higher values are drawn over lower ones.
+   * @return The created layer.
+   */
+  public SceneLayer addLayer(String name, int order) {
+    if (getLayer(name) != null) {
+      throw new IllegalArgumentException("Layer " + name + " already exists");
+    }
+
+    SceneLayer layer = new SceneLayer(name, order);
+
+    layers.add(layer);
+    layers.sort(Comparator.comparingInt(SceneLayer::getOrder));
+
+    return layer;
+  }
+
+  /**
+   * Gets the layer with the specified name.
+   *
+   * @param name The name of the layer.
+   * @return The layer, or null if there is no such layer.
+   */
+  public SceneLayer getLayer(String name) {
+    for (SceneLayer layer : layers) {
+      if (layer.getName().equals(name)) {
+        return layer;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Removes the layer with the specified name.
+   *
+   * @param name The name of the layer.
+   */
+  public void removeLayer(String name) {
+    layers.removeIf(layer -> layer.getName().equals(name));
+  }
+
+  /**
+   * Gets the number of nodes with content drawn in the last frame.
+   *
+   * <p><b>NOTE:</b> With parallel strips, the numbers are of the strip finished last.</p>
+   *
+   * @return The number of drawn nodes.
+   */
+  public int getDrawnNodes() {
+    return statistics.drawnNodes;
+  }
+
+  /**
+   * Gets the number of subtrees skipped in the last frame because they were outside the visible area.
+   *
+   * @return The number of culled subtrees.
+   */
+  public int getCulledNodes() {
+    return statistics.culledNodes;
+  }
+
+  @Override
+  public void prepare(Graphics2D context, Canvas canvas) {
+    Rectangle view = context.getClipBounds();
+
+    for (int i = 0; i < layers.size(); i++) {
+      SceneLayer layer = layers.get(i);
+
+      if (layer.getRoot().isVisible()) {
+        layer.prepare(context, canvas, view);
+      }
+    }
+  }
+
+  @Override
+  public void draw(Graphics2D context, Canvas canvas) {
+    Rectangle view = context.getClipBounds();
+    // Counted separately for each draw, so the scene can be drawn by several threads at once (e.g. parallel strips).
+    SceneStatistics drawStatistics = new SceneStatistics();
+
+    for (int i = 0; i < layers.size(); i++) {
+      SceneLayer layer = layers.get(i);
+
+      if (layer.getRoot().isVisible()) {
+        layer.draw(context, canvas, view, drawStatistics);
+      }
+    }
+
+    statistics = drawStatistics;
+  }
+}
@@ -0,0 +1,91 @@
+package xyz.magicjourney.odyssey.scene;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+import xyz.magicjourney.odyssey.renderer.Canvas;
+
+/**
+ * A named layer of the scene, e.g. "background", "world" or "ui".
+ * Layers are drawn in the order of their {@code order} value, so each layer covers the layers with lower values.
+ */
+public class SceneLayer {
+  private String name;
+  private int order;
+  private SceneNode root;
+
+  /**
+   * Constructs an empty layer.
+   *
+   * @param name The name of the layer.
+   * @param order The drawing order of the layer.
+   */
+  public SceneLayer(String name, int order) {
+    this.name = name;
+    this.order = order;
+    this.root = new SceneNode();
+  }
+
+  /**
+   * Adds a node to the layer.
+   *
+   * @param node The node to add.
+   */
+  public void add(SceneNode node) {
+    root.add(node);
+  }
+
+  /**
+   * Removes a node from the layer.
+   *
+   * @param node The node to remove.
+   */
+  public void remove(SceneNode node) {
+    root.remove(node);
+  }
+
+  /**
+   * Gets the root node of the layer, e.g. to move or hide the whole layer.
+   *
+   * @return The root node.
+   */
+  public SceneNode getRoot() {
+    return root;
+  }
+
+  /**
+   * Gets the name of the layer.
+   *
+   * @return The name of the layer.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the drawing order of the layer.
+   *
+   * @return The drawing order.
+   */
+  public int getOrder() {
+    return order;
+  }
+
+  /**
+   * Updates the cached state of the nodes of the layer intersecting the view.
+   */
+  void prepare(Graphics2D context, Canvas canvas, Rectangle view) {
+    root.checkContentVersions();
+    root.prepare(context, canvas, view);
+  }
+
+  /**
+   * Draws the nodes of the layer intersecting the view.
+   *
+   * <p>After {@code prepare}, checking the content versions finds no changes, so drawing only reads the nodes.</p>
+   */
+  void draw(Graphics2D context, Canvas canvas, Rectangle view, SceneStatistics statistics) {
+    root.checkContentVersions();
+    root.draw(context, canvas, view, statistics);
+  }
+}
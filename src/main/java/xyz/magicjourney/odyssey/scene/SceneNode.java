@@ -0,0 +1,517 @@
+package xyz.magicjourney.odyssey.scene;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import xyz.magicjourney.odyssey.renderer.Bounded;
+import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.Drawable;
+import xyz.magicjourney.odyssey.renderer.Preparable;
+
+/**
+ * A node of the scene graph: optional drawable content with a position and scale relative to the parent node,
+ * and any number of child nodes.
+ *
+ * <p>The content is drawn in the local coordinate system of the node, e.g. a {@code Text} at (0, 0) inside a node
+ * at (100, 50) appears at (100, 50) of its parent.</p>
+ *
+ * <p>The node caches its world transform and world bounds (covering its content and all its descendants).
+ * Changing the position or scale marks the transform of the subtree as dirty and the bounds of all ancestors,
+ * so they are recalculated only when needed. Thanks to the bounds, whole subtrees outside the view are skipped
+ * when drawing.</p>
+ *
+ * <p>Changes of {@link Bounded} content (e.g. an image moving itself) are detected by its version.
+ * The versions of the whole tree are checked before each frame, including culled subtrees, so content
+ * moving back into the view is drawn again. Checking reads one number per node, while drawing stays
+ * proportional to what is visible.</p>
+ *
+ * <p><b>NOTE:</b> Content that isn't {@link Bounded} is never culled, unless its size is set with {@code setSize}.
+ * If such content changes its size, call {@code invalidateBounds}.</p>
+ */
+public class SceneNode {
+  protected SceneNode parent;
+  protected ArrayList<SceneNode> children;
+  protected Drawable content;
+  protected boolean visible;
+  protected int z;
+
+  protected double x;
+  protected double y;
+  protected double scale;
+  protected int width;
+  protected int height;
+
+  protected double worldX;
+  protected double worldY;
+  protected double worldScale;
+  protected boolean transformDirty;
+
+  protected Rectangle worldBounds;
+  protected boolean unbounded;
+  protected boolean boundsDirty;
+  protected boolean orderDirty;
+  protected long contentVersion;
+
+  /**
+   * Constructs an empty node, e.g. to group other nodes.
+   */
+  public SceneNode() {
+    this(null);
+  }
+
+  /**
+   * Constructs a node with the specified content.
+   *
+   * @param content The drawable drawn by the node, or null.
+   */
+  public SceneNode(Drawable content) {
+    this.children = new ArrayList<>();
+    this.content = content;
+    this.visible = true;
+    this.scale = 1;
+    this.worldScale = 1;
+    this.worldBounds = new Rectangle();
+    this.transformDirty = true;
+    this.boundsDirty = true;
+    this.width = -1;
+    this.height = -1;
+  }
+
+  /**
+   * Adds a child node. Children are drawn after their parent, ordered by their {@code z} value.
+   *
+   * @param child The node to add.
+   */
+  public void add(SceneNode child) {
+    if (child.parent != null) {
+      child.parent.remove(child);
+    }
+
+    child.parent = this;
+    children.add(child);
+    child.markTransformDirty();
+    markBoundsDirty();
+    orderDirty = true;
+  }
+
+  /**
+   * Removes a child node.
+   *
+   * @param child The node to remove.
+   */
+  public void remove(SceneNode child) {
+    if (children.remove(child)) {
+      child.parent = null;
+      markBoundsDirty();
+    }
+  }
+
+  /**
+   * Gets the child nodes.
+   *
+   * @return The unmodifiable list of children.
+   */
+  public List<SceneNode> getChildren() {
+    return Collections.unmodifiableList(children);
+  }
+
+  /**
+   * Gets the parent node.
+   *
+   * @return The parent node, or null if it's a root node.
+   */
+  public SceneNode getParent() {
+    return parent;
+  }
+
+  /**
+   * Sets the drawable drawn by the node.
+   *
+   * @param content The content, or null.
+   */
+  public void setContent(Drawable content) {
+    this.content = content;
+    invalidateBounds();
+  }
+
+  /**
+   * Gets the drawable drawn by the node.
+   *
+   * @return The content, or null.
+   */
+  public Drawable getContent() {
+    return content;
+  }
+
+  /**
+   * Sets the position of the node relative to its parent.
+   *
+   * @param x The x-coordinate.
+   * @param y The y-coordinate.
+   */
+  public void setPosition(double x, double y) {
+    if (this.x != x || this.y != y) {
+      this.x = x;
+      this.y = y;
+      markTransformDirty();
+    }
+  }
+
+  /**
+   * Gets the x-coordinate of the node relative to its parent.
+   *
+   * @return The x-coordinate.
+   */
+  public double getX() {
+    return x;
+  }
+
+  /**
+   * Gets the y-coordinate of the node relative to its parent.
+   *
+   * @return The y-coordinate.
+   */
+  public double getY() {
+    return y;
+  }
+
+  /**
+   * Sets the scale of the node relative to its parent.
+   *
+   * @param scale The scale, e.g. 2 to draw the node and its children twice as big.
+   */
+  public void setScale(double scale) {
+    if (scale <= 0) {
+      throw new IllegalArgumentException("Scale must be positive");
+    }
+
+    if (this.scale != scale) {
+      this.scale = scale;
+      markTransformDirty();
+    }
+  }
+
+  /**
+   * Gets the scale of the node relative to its parent.
+   *
+   * @return The scale.
+   */
+  public double getScale() {
+    return scale;
+  }
+
+  /**
+   * Sets the size of content that isn't {@link Bounded}, so it can be culled.
+   *
+   * @param width  The width of the content, in local coordinates.
+   * @param height The height of the content, in local coordinates.
+   */
+  public void setSize(int width, int height) {
+    this.width = width;
+    this.height = height;
+    invalidateBounds();
+  }
+
+  /**
+   * Sets the order of the node among its siblings. Nodes with higher values are drawn over lower ones.
+   *
+   * @param z The order of the node.
+   */
+  public void setZ(int z) {
+    if (this.z != z) {
+      this.z = z;
+
+      if (parent != null) {
+        parent.orderDirty = true;
+      }
+    }
+  }
+
+  /**
+   * Gets the order of the node among its siblings.
+   *
+   * @return The order of the node.
+   */
+  public int getZ() {
+    return z;
+  }
+
+  /**
+   * Shows or hides the node together with its children.
+   *
+   * @param visible {@code true} to draw the node, {@code false} to skip it.
+   */
+  public void setVisible(boolean visible) {
+    this.visible = visible;
+  }
+
+  /**
+   * Checks if the node is drawn.
+   *
+   * @return {@code true} if the node is visible, {@code false} otherwise.
+   */
+  public boolean isVisible() {
+    return visible;
+  }
+
+  /**
+   * Marks the bounds of the node and its ancestors for recalculation, e.g. after the content has changed its size.
+   */
+  public void invalidateBounds() {
+    markBoundsDirty();
+  }
+
+  /**
+   * Gets the area covered by the node and all its descendants, in scene coordinates.
+   *
+   * @return The world bounds (shouldn't be modified), meaningless if {@code isUnbounded} returns {@code true}.
+   */
+  public Rectangle getWorldBounds() {
+    checkContentVersions();
+
+    return updateWorldBounds();
+  }
+
+  /**
+   * Checks if the node or any of its descendants can draw anywhere, so it can't be culled.
+   *
+   * @return {@code true} if the node has no known bounds, {@code false} otherwise.
+   */
+  public boolean isUnbounded() {
+    getWorldBounds();
+
+    return unbounded;
+  }
+
+  /**
+   * Draws the node and its children if they intersect the view.
+   *
+   * @param context The graphics context in scene coordinates.
+   * @param canvas The canvas on which the scene is drawn.
+   * @param view The visible area in scene coordinates, or null to draw everything.
+   * @param statistics The counters of drawn and culled nodes.
+   */
+  void draw(Graphics2D context, Canvas canvas, Rectangle view, SceneStatistics statistics) {
+    if (!visible) {
+      return;
+    }
+
+    Rectangle bounds = updateWorldBounds();
+
+    if (view != null && !unbounded && !bounds.intersects(view)) {
+      statistics.culledNodes++;
+      return;
+    }
+
+    if (content != null) {
+      drawContent(context, canvas);
+      statistics.drawnNodes++;
+    }
+
+    sortChildren();
+
+    for (int i = 0; i < children.size(); i++) {
+      children.get(i).draw(context, canvas, view, statistics);
+    }
+  }
+
+  /**
+   * Updates the cached transforms, bounds and order of the nodes that would be visited by drawing with the same view,
+   * and prepares their {@link Preparable} content (e.g. a camera or a nested scene), so drawing them afterwards
+   * only reads their state.
+   *
+   * @param context The graphics context in scene coordinates.
+   * @param canvas The canvas on which the scene is drawn.
+   * @param view The visible area in scene coordinates, or null to prepare everything.
+   */
+  void prepare(Graphics2D context, Canvas canvas, Rectangle view) {
+    if (!visible) {
+      return;
+    }
+
+    Rectangle bounds = updateWorldBounds();
+
+    if (view != null && !unbounded && !bounds.intersects(view)) {
+      return;
+    }
+
+    if (content instanceof Preparable preparable) {
+      prepareContent(preparable, context, canvas);
+    }
+
+    sortChildren();
+
+    for (int i = 0; i < children.size(); i++) {
+      children.get(i).prepare(context, canvas, view);
+    }
+  }
+
+  /**
+   * Marks the bounds of the nodes whose {@link Bounded} content has changed since its bounds were calculated,
+   * in the whole subtree (including the nodes that would be culled).
+   */
+  void checkContentVersions() {
+    if (content instanceof Bounded bounded && bounded.getVersion() != contentVersion) {
+      contentVersion = bounded.getVersion();
+      markBoundsDirty();
+    }
+
+    for (int i = 0; i < children.size(); i++) {
+      children.get(i).checkContentVersions();
+    }
+  }
+
+  /**
+   * Recalculates the world transform and bounds if they are dirty, without checking the content versions.
+   *
+   * @return The world bounds.
+   */
+  private Rectangle updateWorldBounds() {
+    updateTransform();
+
+    if (boundsDirty) {
+      calculateWorldBounds();
+    }
+
+    return worldBounds;
+  }
+
+  /**
+   * Sorts the children by their {@code z} value, if it has changed.
+   */
+  private void sortChildren() {
+    if (orderDirty) {
+      children.sort((a, b) -> Integer.compare(a.z, b.z));
+      orderDirty = false;
+    }
+  }
+
+  /**
+   * Draws the content in the world coordinate system of the node.
+   */
+  private void drawContent(Graphics2D context, Canvas canvas) {
+    context.translate(worldX, worldY);
+
+    if (worldScale != 1) {
+      context.scale(worldScale, worldScale);
+      content.draw(context, canvas);
+      context.scale(1 / worldScale, 1 / worldScale);
+    }
+    else {
+      content.draw(context, canvas);
+    }
+
+    context.translate(-worldX, -worldY);
+  }
+
+  /**
+   * Prepares the content in the world coordinate system of the node, like it's drawn.
+   */
+  private void prepareContent(Preparable preparable, Graphics2D context, Canvas canvas) {
+    AffineTransform transform = context.getTransform();
+
+    context.translate(worldX, worldY);
+    context.scale(worldScale, worldScale);
+    preparable.prepare(context, canvas);
+    context.setTransform(transform);
+  }
+
+  /**
+   * Recalculates the world transform from the parent, if it has changed.
+   */
+  private void updateTransform() {
+    if (!transformDirty) {
+      return;
+    }
+
+    if (parent != null) {
+      parent.updateTransform();
+      worldX = parent.worldX + x * parent.worldScale;
+      worldY = parent.worldY + y * parent.worldScale;
+      worldScale = parent.worldScale * scale;
+    }
+    else {
+      worldX = x;
+      worldY = y;
+      worldScale = scale;
+    }
+
+    transformDirty = false;
+  }
+
+  /**
+   * Recalculates the world bounds as the union of the content bounds and the bounds of all children.
+   */
+  private void calculateWorldBounds() {
+    unbounded = false;
+    worldBounds.setBounds(0, 0, -1, -1);
+
+    if (content != null) {
+      Rectangle local = null;
+
+      if (content instanceof Bounded bounded) {
+        local = bounded.getBounds();
+      }
+      else if (width >= 0 && height >= 0) {
+        local = new Rectangle(0, 0, width, height);
+      }
+
+      if (local == null) {
+        unbounded = true;
+      }
+      else {
+        worldBounds.setBounds(
+          (int) Math.floor(worldX + local.x * worldScale),
+          (int) Math.floor(worldY + local.y * worldScale),
+          (int) Math.ceil(local.width * worldScale) + 1,
+          (int) Math.ceil(local.height * worldScale) + 1
+        );
+      }
+    }
+
+    for (SceneNode child : children) {
+      Rectangle childBounds = child.updateWorldBounds();
+
+      unbounded |= child.unbounded;
+
+      if (!childBounds.isEmpty()) {
+        if (worldBounds.isEmpty()) {
+          worldBounds.setBounds(childBounds);
+        }
+        else {
+          worldBounds.add(childBounds);
+        }
+      }
+    }
+
+    boundsDirty = false;
+  }
+
+  /**
+   * Marks the transform of the node and all its descendants as dirty.
+   */
+  private void markTransformDirty() {
+    transformDirty = true;
+    markBoundsDirty();
+
+    for (SceneNode child : children) {
+      child.markTransformDirty();
+    }
+  }
+
+  /**
+   * Marks the bounds of the node and all its ancestors as dirty.
+   */
+  private void markBoundsDirty() {
+    SceneNode node = this;
+
+    while (node != null && !node.boundsDirty) {
+      node.boundsDirty = true;
+      node = node.parent;
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package xyz.magicjourney.odyssey.scene;
+
+/**
+ * Counters of nodes drawn and skipped while drawing a scene.
+ */
+class SceneStatistics {
+  int drawnNodes;
+  int culledNodes;
+}
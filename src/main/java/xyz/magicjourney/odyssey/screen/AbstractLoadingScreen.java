@@ -9,6 +9,7 @@ import javax.imageio.ImageIO;
 import xyz.magicjourney.odyssey.input.InputManager;
 import xyz.magicjourney.odyssey.renderer.Canvas;
 import xyz.magicjourney.odyssey.renderer.Renderer;
+import xyz.magicjourney.odyssey.renderer.text.TextMetrics;
 import xyz.magicjourney.odyssey.resource.ResourceManager;
 import xyz.magicjourney.odyssey.ui.Image;
 import xyz.magicjourney.odyssey.ui.Text;
@@ -24,6 +25,7 @@ public abstract class AbstractLoadingScreen extends Screen {
   protected Text title;
   protected Text loadingDetails;
   protected Text loadingProgress;
+  protected StringBuilder progressText;
 
   public AbstractLoadingScreen(InputManager inputManager, ScreenManager screenManager, ResourceManager resourceManager, Canvas canvas) {
     super(inputManager, screenManager, resourceManager, canvas);
@@ -91,10 +93,13 @@ public abstract class AbstractLoadingScreen extends Screen {
   @Override
   public void load() {
     background = new Image(getBackgroundImage(), 0, 0);
-    title = new Text("Odyssey Engine", 50, 100, getTitleFont(), new Color(0xff7b00), 50);
+    TextMetrics textMetrics = resourceManager.getTextMetrics();
+
+    title = new Text("Odyssey Engine", 50, 100, getTitleFont(), new Color(0xff7b00), 50, textMetrics);
     
-    loadingDetails = new Text("Loading", 50, 470, getFont(), new Color(0xffffff), 15);
-    loadingProgress = new Text("File 0/0", 50, 500, getFont(), new Color(0xffffff), 20);
+    loadingDetails = new Text("Loading", 50, 470, getFont(), new Color(0xffffff), 15, textMetrics);
+    loadingProgress = new Text("File 0/0", 50, 500, getFont(), new Color(0xffffff), 20, textMetrics);
+    progressText = new StringBuilder();
     
     resourceManager.onFinish().subscribe(this::goToNextScene);
   }
@@ -108,7 +113,11 @@ public abstract class AbstractLoadingScreen extends Screen {
   @Override
   public void update(long deltaTime) {
     loadingDetails.setText(resourceManager.getLastLoadedFile());
-    loadingProgress.setText(resourceManager.getLoadingProgressText());
+
+    // The progress is built in a reused builder, so updating it every frame doesn't allocate.
+    progressText.setLength(0);
+    progressText.append(resourceManager.getFilesLoaded()).append('/').append(resourceManager.getFilesCount());
+    loadingProgress.setText(progressText);
   }
 
   @Override
@@ -48,4 +48,18 @@ public abstract class Screen {
    * @param renderer The renderer used to draw the screen.
    */
   public abstract void draw(Renderer renderer);
+
+  /**
+   * Renders the screen using the provided renderer, blending between the last two simulation states.
+   *
+   * <p>Called instead of {@link #draw(Renderer)} when the engine runs in the fixed timestep mode.
+   * By default it ignores {@code alpha} and calls {@link #draw(Renderer)}; override it to interpolate
+   * the drawn positions, e.g. {@code previous + (current - previous) * alpha}.</p>
+   *
+   * @param renderer The renderer used to draw the screen.
+   * @param alpha The fraction of the update step elapsed since the last update, in range [0, 1).
+   */
+  public void draw(Renderer renderer, double alpha) {
+    draw(renderer);
+  }
 }
@@ -6,6 +6,9 @@ import java.util.Optional;
 import xyz.magicjourney.odyssey.event.Event;
 import xyz.magicjourney.odyssey.event.EventGetter;
 import xyz.magicjourney.odyssey.input.InputManager;
+import xyz.magicjourney.odyssey.job.JobSystem;
+import xyz.magicjourney.odyssey.profiler.FramePhase;
+import xyz.magicjourney.odyssey.profiler.FrameProfiler;
 import xyz.magicjourney.odyssey.renderer.Canvas;
 import xyz.magicjourney.odyssey.renderer.Renderer;
 import xyz.magicjourney.odyssey.resource.ResourceManager;
@@ -34,6 +37,12 @@ public class ScreenManager {
   // to close the game (for example, the quit button was clicked in the main menu).
   private Event closeGameEvent;
 
+  // Optional profiler measuring screen switches.
+  private FrameProfiler profiler;
+
+  // Job system that screens can use to run work in parallel.
+  private JobSystem jobSystem;
+
   /** 
    * Constructs a new ScreenManager instance.
    *
@@ -47,6 +56,37 @@ public class ScreenManager {
     this.nextScreen = Optional.empty();
   }
 
+  /**
+   * Sets the profiler measuring the duration of screen switches.
+   *
+   * @param profiler The profiler, or null to disable measuring.
+   *
+   * @see FramePhase#SCREEN_SWITCH
+   */
+  public void setProfiler(FrameProfiler profiler) {
+    this.profiler = profiler;
+  }
+
+  /**
+   * Sets the job system shared with screens.
+   *
+   * @param jobSystem The job system.
+   */
+  public void setJobSystem(JobSystem jobSystem) {
+    this.jobSystem = jobSystem;
+  }
+
+  /**
+   * Gets the job system that screens can use to update independent objects in parallel.
+   *
+   * <p>The engine waits for all submitted jobs at the end of each update step, before the screen is drawn.</p>
+   *
+   * @return The job system.
+   */
+  public JobSystem getJobSystem() {
+    return jobSystem;
+  }
+
   /**
    * Registers a new screen with a specified name.
    *
@@ -144,6 +184,8 @@ public class ScreenManager {
       return;
     }
 
+    long start = profiler != null ? profiler.start() : 0;
+
     if (current() != null) {
       current().unload();
     }
@@ -152,6 +194,10 @@ public class ScreenManager {
     current().load();
 
     nextScreen = Optional.empty();
+
+    if (profiler != null) {
+      profiler.end(FramePhase.SCREEN_SWITCH, start);
+    }
   }
 
   /**
@@ -162,4 +208,14 @@ public class ScreenManager {
   public void draw(Renderer renderer) {
     current().draw(renderer);
   }
+
+  /**
+   * Draws the current screen using the provided renderer and interpolation factor.
+   *
+   * @param renderer The renderer used to draw the screen.
+   * @param alpha The fraction of the update step elapsed since the last update, in range [0, 1).
+   */
+  public void draw(Renderer renderer, double alpha) {
+    current().draw(renderer, alpha);
+  }
 }
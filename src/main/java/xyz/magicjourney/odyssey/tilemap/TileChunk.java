@@ -0,0 +1,27 @@
+package xyz.magicjourney.odyssey.tilemap;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A square part of the tile map with its pre-rendered image.
+ *
+ * <p>Chunks with an image form a doubly linked list ordered from the least to the most recently drawn,
+ * used to evict the chunks that haven't been visible for the longest time.</p>
+ */
+class TileChunk {
+  final int column;
+  final int row;
+
+  BufferedImage image;
+  boolean dirty;
+  long lastDrawnFrame;
+
+  TileChunk previous;
+  TileChunk next;
+
+  TileChunk(int column, int row) {
+    this.column = column;
+    this.row = row;
+    this.dirty = true;
+  }
+}
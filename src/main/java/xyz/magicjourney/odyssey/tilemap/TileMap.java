@@ -0,0 +1,401 @@
+package xyz.magicjourney.odyssey.tilemap;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import xyz.magicjourney.odyssey.renderer.Bounded;
+import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.resource.loader.ImageConverter;
+import xyz.magicjourney.odyssey.update.Updatable;
+
+/**
+ * A grid of tiles drawn from pre-rendered chunks.
+ *
+ * <p>The map is divided into square chunks of {@code chunkSize x chunkSize} tiles. When a chunk becomes visible
+ * for the first time, all its tiles are rendered into a cached image in the fastest format for drawing,
+ * so drawing the map costs a few image copies per frame instead of one per tile. Changing a tile re-renders
+ * only its chunk, the next time it is visible.</p>
+ *
+ * <p>Cached chunks are limited by a memory budget. When it is exceeded, the chunks that haven't been visible
+ * for the longest time (the farthest from the camera in practice) are evicted and rendered again if they come back.
+ * Eviction runs once per frame: when the map is drawn in a new frame of the canvas (see {@link Canvas#getFrame}),
+ * or in {@link #update(long)}, so the budget holds whether the map is updated or only drawn.</p>
+ *
+ * <p><b>WHY?</b> The map can be drawn several times per frame (by several cameras, or by each strip when rendering
+ * in parallel strips). Chunks drawn by any of them count as visible until the frame ends, so a chunk drawn
+ * only by the first strip isn't evicted by the last one.</p>
+ *
+ * <p>Only the chunks intersecting the clip of the graphics context are drawn, e.g. the visible area
+ * of a camera in {@link xyz.magicjourney.odyssey.renderer.CameraMode#DIRECT} mode.</p>
+ *
+ * <p><b>NOTE:</b> Drawing updates the chunk cache, so it's synchronized when the map is drawn by several threads
+ * (see {@link xyz.magicjourney.odyssey.renderer.Renderer#useParallelStrips}).</p>
+ */
+public class TileMap implements Bounded, Updatable {
+  private static final int EMPTY = -1;
+
+  private TileSet tileSet;
+  private int columns;
+  private int rows;
+  private int[] tiles;
+  private int x;
+  private int y;
+  private long version;
+
+  private int chunkSize;
+  private int chunkColumns;
+  private int chunkRows;
+  private TileChunk[] chunks;
+  private ImageConverter converter;
+  private ArrayDeque<BufferedImage> freeImages;
+
+  private long memoryBudget;
+  private long cacheMemory;
+  private TileChunk leastRecent;
+  private TileChunk mostRecent;
+  private long frame;
+  private long canvasFrame;
+
+  private long renderedChunks;
+  private long evictedChunks;
+
+  /**
+   * Constructs an empty map with chunks of 16x16 tiles and a 64 MB cache.
+   *
+   * @param tileSet The tiles of the map.
+   * @param columns The width of the map (in tiles).
+   * @param rows The height of the map (in tiles).
+   */
+  public TileMap(TileSet tileSet, int columns, int rows) {
+    this(tileSet, columns, rows, 16, 64L * 1024 * 1024);
+  }
+
+  /**
+   * Constructs an empty map.
+   *
+   * @param tileSet The tiles of the map.
+   * @param columns The width of the map (in tiles).
+   * @param rows The height of the map (in tiles).
+   * @param chunkSize The width and height of a chunk (in tiles).
+   * @param memoryBudget The memory limit of cached chunk images (in bytes).
+   */
+  public TileMap(TileSet tileSet, int columns, int rows, int chunkSize, long memoryBudget) {
+    if (columns <= 0 || rows <= 0 || chunkSize <= 0) {
+      throw new IllegalArgumentException("Map and chunk sizes must be positive");
+    }
+
+    this.tileSet = tileSet;
+    this.columns = columns;
+    this.rows = rows;
+    this.tiles = new int[columns * rows];
+    this.chunkSize = chunkSize;
+    this.chunkColumns = (columns + chunkSize - 1) / chunkSize;
+    this.chunkRows = (rows + chunkSize - 1) / chunkSize;
+    this.chunks = new TileChunk[chunkColumns * chunkRows];
+    this.converter = new ImageConverter();
+    this.freeImages = new ArrayDeque<>();
+    this.memoryBudget = memoryBudget;
+
+    Arrays.fill(tiles, EMPTY);
+  }
+
+  /**
+   * Sets the tile at the specified position and invalidates its chunk.
+   *
+   * @param column The column of the tile.
+   * @param row The row of the tile.
+   * @param tile The id of the tile in the tile set, or -1 for no tile.
+   */
+  public void setTile(int column, int row, int tile) {
+    int index = tileIndex(column, row);
+
+    if (tiles[index] == tile) {
+      return;
+    }
+
+    tiles[index] = tile;
+    version++;
+
+    TileChunk chunk = chunks[(row / chunkSize) * chunkColumns + column / chunkSize];
+
+    if (chunk != null) {
+      chunk.dirty = true;
+    }
+  }
+
+  /**
+   * Gets the tile at the specified position.
+   *
+   * @param column The column of the tile.
+   * @param row The row of the tile.
+   * @return The id of the tile in the tile set, or -1 for no tile.
+   */
+  public int getTile(int column, int row) {
+    return tiles[tileIndex(column, row)];
+  }
+
+  /**
+   * Sets the position of the top-left corner of the map.
+   *
+   * @param x The x-coordinate.
+   * @param y The y-coordinate.
+   */
+  public void setPosition(int x, int y) {
+    this.x = x;
+    this.y = y;
+    this.version++;
+  }
+
+  /**
+   * Invalidates all cached chunks, e.g. after the tile set image has been modified.
+   */
+  public void invalidateAll() {
+    for (TileChunk chunk : chunks) {
+      if (chunk != null) {
+        chunk.dirty = true;
+      }
+    }
+
+    version++;
+  }
+
+  /**
+   * Gets the memory used by cached chunk images.
+   *
+   * @return The memory used by the cache (in bytes).
+   */
+  public long getCacheMemory() {
+    return cacheMemory;
+  }
+
+  /**
+   * Gets the number of chunk renders so far (first renders, re-renders after changes and after eviction).
+   *
+   * @return The number of rendered chunks.
+   */
+  public long getRenderedChunks() {
+    return renderedChunks;
+  }
+
+  /**
+   * Gets the number of chunks evicted from the cache so far.
+   *
+   * @return The number of evicted chunks.
+   */
+  public long getEvictedChunks() {
+    return evictedChunks;
+  }
+
+  @Override
+  public Rectangle getBounds() {
+    return new Rectangle(x, y, columns * tileSet.getTileWidth(), rows * tileSet.getTileHeight());
+  }
+
+  @Override
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Ends the frame if the map has been drawn since the last one: evicts the least recently drawn chunks
+   * if the cache exceeds the budget.
+   *
+   * <p>Updates without a draw in between (e.g. catching up in fixed timestep mode) don't end the frame,
+   * so the chunks visible in the last drawn frame are kept.</p>
+   *
+   * @param deltaTime The time passed since the last update (in milliseconds).
+   */
+  @Override
+  public synchronized void update(long deltaTime) {
+    endFrame();
+  }
+
+  @Override
+  public synchronized void draw(Graphics2D context, Canvas canvas) {
+    if (canvas != null && canvas.getFrame() != canvasFrame) {
+      canvasFrame = canvas.getFrame();
+      endFrame();
+    }
+
+    int chunkWidth = chunkSize * tileSet.getTileWidth();
+    int chunkHeight = chunkSize * tileSet.getTileHeight();
+    Rectangle view = context.getClipBounds();
+    int firstColumn = 0;
+    int firstRow = 0;
+    int lastColumn = chunkColumns - 1;
+    int lastRow = chunkRows - 1;
+
+    if (view != null) {
+      firstColumn = Math.max(firstColumn, Math.floorDiv(view.x - x, chunkWidth));
+      firstRow = Math.max(firstRow, Math.floorDiv(view.y - y, chunkHeight));
+      lastColumn = Math.min(lastColumn, Math.floorDiv(view.x + view.width - 1 - x, chunkWidth));
+      lastRow = Math.min(lastRow, Math.floorDiv(view.y + view.height - 1 - y, chunkHeight));
+    }
+
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        TileChunk chunk = getChunk(column, row);
+
+        if (chunk.image == null || chunk.dirty) {
+          renderChunk(chunk);
+        }
+
+        touch(chunk);
+        context.drawImage(chunk.image, x + column * chunkWidth, y + row * chunkHeight, null);
+      }
+    }
+  }
+
+  /**
+   * Evicts chunks over the budget and starts a new frame, if the map has been drawn in the current one.
+   */
+  private void endFrame() {
+    if (mostRecent != null && mostRecent.lastDrawnFrame == frame) {
+      evict();
+      frame++;
+    }
+  }
+
+  /**
+   * Gets the chunk at the specified position, creating it if needed.
+   */
+  private TileChunk getChunk(int column, int row) {
+    int index = row * chunkColumns + column;
+
+    if (chunks[index] == null) {
+      chunks[index] = new TileChunk(column, row);
+    }
+
+    return chunks[index];
+  }
+
+  /**
+   * Renders all tiles of the chunk into its image.
+   */
+  private void renderChunk(TileChunk chunk) {
+    int tileWidth = tileSet.getTileWidth();
+    int tileHeight = tileSet.getTileHeight();
+
+    if (chunk.image == null) {
+      chunk.image = freeImages.isEmpty()
+        ? converter.createImage(chunkSize * tileWidth, chunkSize * tileHeight, false)
+        : freeImages.pop();
+      cacheMemory += imageMemory(chunk.image);
+    }
+
+    Graphics2D context = chunk.image.createGraphics();
+
+    context.setComposite(AlphaComposite.Clear);
+    context.fillRect(0, 0, chunk.image.getWidth(), chunk.image.getHeight());
+    context.setComposite(AlphaComposite.SrcOver);
+
+    int lastColumn = Math.min(columns, (chunk.column + 1) * chunkSize);
+    int lastRow = Math.min(rows, (chunk.row + 1) * chunkSize);
+
+    for (int row = chunk.row * chunkSize; row < lastRow; row++) {
+      for (int column = chunk.column * chunkSize; column < lastColumn; column++) {
+        int tile = tiles[row * columns + column];
+
+        if (tile != EMPTY) {
+          tileSet.drawTile(context, tile, (column % chunkSize) * tileWidth, (row % chunkSize) * tileHeight);
+        }
+      }
+    }
+
+    context.dispose();
+    chunk.dirty = false;
+    renderedChunks++;
+  }
+
+  /**
+   * Moves the chunk to the most recently drawn end of the list.
+   */
+  private void touch(TileChunk chunk) {
+    chunk.lastDrawnFrame = frame;
+
+    if (chunk == mostRecent) {
+      return;
+    }
+
+    unlink(chunk);
+
+    chunk.previous = mostRecent;
+    chunk.next = null;
+
+    if (mostRecent != null) {
+      mostRecent.next = chunk;
+    }
+
+    mostRecent = chunk;
+
+    if (leastRecent == null) {
+      leastRecent = chunk;
+    }
+  }
+
+  /**
+   * Evicts the least recently drawn chunks until the cache fits in the budget.
+   * Chunks drawn since the last update are never evicted, even if they alone exceed the budget.
+   */
+  private void evict() {
+    while (cacheMemory > memoryBudget && leastRecent != null && leastRecent.lastDrawnFrame != frame) {
+      TileChunk chunk = leastRecent;
+
+      unlink(chunk);
+      cacheMemory -= imageMemory(chunk.image);
+
+      // A few images are kept to render chunks that become visible next, instead of allocating new ones.
+      if (freeImages.size() < 4) {
+        freeImages.push(chunk.image);
+      }
+
+      chunk.image = null;
+      chunk.dirty = true;
+      evictedChunks++;
+    }
+  }
+
+  /**
+   * Removes the chunk from the list of cached chunks.
+   */
+  private void unlink(TileChunk chunk) {
+    if (chunk.previous != null) {
+      chunk.previous.next = chunk.next;
+    }
+    else if (leastRecent == chunk) {
+      leastRecent = chunk.next;
+    }
+
+    if (chunk.next != null) {
+      chunk.next.previous = chunk.previous;
+    }
+    else if (mostRecent == chunk) {
+      mostRecent = chunk.previous;
+    }
+
+    chunk.previous = null;
+    chunk.next = null;
+  }
+
+  /**
+   * Gets the index of the tile in the tile array.
+   */
+  private int tileIndex(int column, int row) {
+    if (column < 0 || column >= columns || row < 0 || row >= rows) {
+      throw new IllegalArgumentException("Tile (" + column + ", " + row + ") is outside the map");
+    }
+
+    return row * columns + column;
+  }
+
+  /**
+   * Estimates the memory used by a chunk image, assuming 4 bytes per pixel.
+   */
+  private static long imageMemory(BufferedImage image) {
+    return (long) image.getWidth() * image.getHeight() * 4;
+  }
+}
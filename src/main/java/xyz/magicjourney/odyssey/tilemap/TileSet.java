@@ -0,0 +1,80 @@
+package xyz.magicjourney.odyssey.tilemap;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * A set of equally sized tiles cut from a single image (tile sheet), numbered row by row starting from 0.
+ */
+public class TileSet {
+  private BufferedImage image;
+  private int tileWidth;
+  private int tileHeight;
+  private int columns;
+  private int tileCount;
+
+  /**
+   * Constructs a tile set from the tile sheet.
+   *
+   * @param image The tile sheet.
+   * @param tileWidth The width of a single tile.
+   * @param tileHeight The height of a single tile.
+   */
+  public TileSet(BufferedImage image, int tileWidth, int tileHeight) {
+    if (tileWidth <= 0 || tileHeight <= 0) {
+      throw new IllegalArgumentException("Tile size must be positive");
+    }
+
+    this.image = image;
+    this.tileWidth = tileWidth;
+    this.tileHeight = tileHeight;
+    this.columns = image.getWidth() / tileWidth;
+    this.tileCount = columns * (image.getHeight() / tileHeight);
+  }
+
+  /**
+   * Gets the width of a single tile.
+   *
+   * @return The tile width.
+   */
+  public int getTileWidth() {
+    return tileWidth;
+  }
+
+  /**
+   * Gets the height of a single tile.
+   *
+   * @return The tile height.
+   */
+  public int getTileHeight() {
+    return tileHeight;
+  }
+
+  /**
+   * Gets the number of tiles in the set.
+   *
+   * @return The number of tiles.
+   */
+  public int getTileCount() {
+    return tileCount;
+  }
+
+  /**
+   * Draws the tile at the specified position. Tiles with ids outside the set are not drawn.
+   *
+   * @param context The graphics context.
+   * @param tile The id of the tile.
+   * @param x The x-coordinate of the top-left corner.
+   * @param y The y-coordinate of the top-left corner.
+   */
+  public void drawTile(Graphics2D context, int tile, int x, int y) {
+    if (tile < 0 || tile >= tileCount) {
+      return;
+    }
+
+    int sourceX = (tile % columns) * tileWidth;
+    int sourceY = (tile / columns) * tileHeight;
+
+    context.drawImage(image, x, y, x + tileWidth, y + tileHeight, sourceX, sourceY, sourceX + tileWidth, sourceY + tileHeight, null);
+  }
+}
@@ -2,6 +2,7 @@ package xyz.magicjourney.odyssey.ui;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 
 import xyz.magicjourney.odyssey.collision.BoxCollider;
@@ -10,6 +11,7 @@ import xyz.magicjourney.odyssey.event.EventGetter;
 import xyz.magicjourney.odyssey.input.InputManager;
 import xyz.magicjourney.odyssey.input.types.MouseInputType;
 import xyz.magicjourney.odyssey.math.Vector;
+import xyz.magicjourney.odyssey.renderer.Bounded;
 import xyz.magicjourney.odyssey.renderer.Canvas;
 import xyz.magicjourney.odyssey.renderer.Drawable;
 import xyz.magicjourney.odyssey.timer.Timer;
@@ -22,7 +24,7 @@ import xyz.magicjourney.odyssey.update.Updatable;
  * @see Updatable
  * @see Drawable
  */
-public abstract class AbstractButton implements Updatable, Drawable {
+public abstract class AbstractButton implements Updatable, Bounded {
   protected Canvas canvas;
   protected BoxCollider collider;
   protected boolean hover;
@@ -33,8 +35,11 @@ public abstract class AbstractButton implements Updatable, Drawable {
   protected int width;
   protected int height;
   protected Color color;
+  protected Color hoverColor;
+  protected Color clickedColor;
   protected int x;
   protected int y;
+  protected long version;
 
   /**
    * Constructs a new instance of the AbstractButton.
@@ -53,6 +58,7 @@ public abstract class AbstractButton implements Updatable, Drawable {
     this.width = width;
     this.height = height;
     this.color = color;
+    this.updateStateColors();
 
     this.clickEvent = new Event();
     this.hover = false;
@@ -94,13 +100,19 @@ public abstract class AbstractButton implements Updatable, Drawable {
 
   /** Handles the mouse move event to check if the mouse is over the button. */
   protected void handleMouseMove(MouseEvent event) {
-    this.hover = this.collider.containsPoint(canvas.pointInCanvas(Vector.fromPoint(event.getPoint())));
+    boolean hover = this.collider.containsPoint(canvas.pointInCanvas(Vector.fromPoint(event.getPoint())));
+
+    if (hover != this.hover) {
+      this.hover = hover;
+      this.version++;
+    }
   }
 
   /* Handles the mouse click event to check if the button is clicked. */
   protected void handleMouseClick(MouseEvent event) {
     if (this.hover && event.getButton() == MouseEvent.BUTTON1) {
       this.clicked = true;
+      this.version++;
       this.clickedTimer.reset();
       this.clickEvent.emit();
     }
@@ -109,6 +121,7 @@ public abstract class AbstractButton implements Updatable, Drawable {
   /** Resets the clicked state */
   protected void unclick() {
     this.clicked = false;
+    this.version++;
   }
 
   /**
@@ -121,6 +134,17 @@ public abstract class AbstractButton implements Updatable, Drawable {
     this.x = x;
     this.y = y;
     this.collider = new BoxCollider(x, y, width, height);
+    this.version++;
+  }
+
+  @Override
+  public Rectangle getBounds() {
+    return new Rectangle(x, y, width, height);
+  }
+
+  @Override
+  public long getVersion() {
+    return version;
   }
 
   @Override
@@ -128,17 +152,37 @@ public abstract class AbstractButton implements Updatable, Drawable {
     clickedTimer.update(deltaTime);
   }
 
-  @Override
-  public void draw(Graphics2D context, Canvas canvas) {
+  /**
+   * Calculates the colors of the hovered and clicked states from the color of the button.
+   *
+   * <p><b>NOTE:</b> It must be called whenever the color changes.</p>
+   */
+  protected void updateStateColors() {
+    this.hoverColor = color.brighter();
+    this.clickedColor = hoverColor.brighter().brighter();
+  }
 
+  /**
+   * Gets the color of the button in its current state (normal, hovered or clicked).
+   *
+   * <p>The same instance is returned for each state until the color changes.</p>
+   *
+   * @return The color of the button.
+   */
+  protected Color getStateColor() {
     if (clicked) {
-      context.setColor(color.brighter().brighter().brighter());
+      return clickedColor;
     }
     else if (hover) {
-      context.setColor(color.brighter());
+      return hoverColor;
     }
     else {
-      context.setColor(color);
+      return color;
     }
   }
+
+  @Override
+  public void draw(Graphics2D context, Canvas canvas) {
+    context.setColor(getStateColor());
+  }
 }
@@ -1,21 +1,30 @@
 package xyz.magicjourney.odyssey.ui;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 
+import xyz.magicjourney.odyssey.renderer.Bounded;
 import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.DrawCommandBuffer;
 import xyz.magicjourney.odyssey.renderer.Drawable;
+import xyz.magicjourney.odyssey.renderer.Recordable;
+import xyz.magicjourney.odyssey.renderer.ScaledImageCache;
 
 /**
  * Represents an image that can be drawn on a canvas.
  *
  * @see Drawable
  */
-public class Image implements Drawable {
+public class Image implements Bounded, Recordable {
   private BufferedImage image;
 
   private int x;
   private int y;
+  private double scale;
+  private ScaledImageCache cache;
+  private Drawable scaledDrawing;
+  private long version;
 
   /**
    * Constructs an Image instance with the specified BufferedImage and default position (0, 0).
@@ -37,6 +46,8 @@ public class Image implements Drawable {
     this.image = image;
     this.x = x;
     this.y = y;
+    this.scale = 1;
+    this.scaledDrawing = this::drawScaled;
   }
 
   /**
@@ -48,10 +59,104 @@ public class Image implements Drawable {
   public void setPosition(int x, int y) {
     this.x = x;
     this.y = y;
+    this.version++;
   } 
 
+  /**
+   * Sets the scale of the image, keeping its top-left corner in place.
+   *
+   * @param scale The scale, 1 for the original size.
+   */
+  public void setScale(double scale) {
+    this.scale = scale;
+    this.version++;
+  }
+
+  /**
+   * Gets the scale of the image.
+   *
+   * @return The scale.
+   */
+  public double getScale() {
+    return scale;
+  }
+
+  /**
+   * Sets the cache of scaled images, so the scaled image is drawn 1:1 once the scaled copy is ready.
+   *
+   * <p><b>NOTE:</b> The image pixels are expected not to change. If they do, clear the cache.</p>
+   *
+   * @param cache The cache, or null to always draw the image scaled.
+   */
+  public void setScaledImageCache(ScaledImageCache cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public Rectangle getBounds() {
+    return new Rectangle(x, y, getScaledWidth(), getScaledHeight());
+  }
+
+  @Override
+  public long getVersion() {
+    return version;
+  }
+
+  @Override
+  public void record(DrawCommandBuffer buffer, int layer) {
+    BufferedImage scaled = getScaledImage();
+
+    if (scaled != null) {
+      buffer.drawImage(layer, scaled, x, y);
+    }
+    else {
+      // The cache has already been asked in this frame, so the image is drawn scaled without asking it again.
+      buffer.draw(layer, scaledDrawing);
+    }
+  }
+
   @Override
   public void draw(Graphics2D context, Canvas canvas) {
-    context.drawImage(image, x, y, null);
+    BufferedImage scaled = getScaledImage();
+
+    if (scaled != null) {
+      context.drawImage(scaled, x, y, null);
+    }
+    else {
+      drawScaled(context, canvas);
+    }
+  }
+
+  /**
+   * Draws the original image scaled while drawing.
+   *
+   * @param context The graphics context on which to draw the image.
+   * @param canvas The canvas on which the image is drawn.
+   */
+  private void drawScaled(Graphics2D context, Canvas canvas) {
+    context.drawImage(image, x, y, getScaledWidth(), getScaledHeight(), null);
+  }
+
+  /**
+   * Gets the image in its scaled size, if it's available without scaling while drawing.
+   *
+   * @return The original image for the scale of 1, the cached copy, or null if there is none yet.
+   */
+  private BufferedImage getScaledImage() {
+    if (scale == 1) {
+      return image;
+    }
+
+    return cache != null ? cache.get(image, 0, scale) : null;
+  }
+
+  /** Gets the width of the image after scaling. */
+  private int getScaledWidth() {
+    return Math.max(1, (int) Math.round(image.getWidth() * scale));
+  }
+
+  /** Gets the height of the image after scaling. */
+  private int getScaledHeight() {
+    return Math.max(1, (int) Math.round(image.getHeight() * scale));
   }
 }
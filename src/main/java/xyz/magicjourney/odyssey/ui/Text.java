@@ -3,27 +3,42 @@ package xyz.magicjourney.odyssey.ui;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
+import java.awt.Rectangle;
 
+import xyz.magicjourney.odyssey.renderer.Bounded;
 import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.DrawCommandBuffer;
 import xyz.magicjourney.odyssey.renderer.Drawable;
+import xyz.magicjourney.odyssey.renderer.Recordable;
+import xyz.magicjourney.odyssey.renderer.text.FontCache;
+import xyz.magicjourney.odyssey.renderer.text.TextMetrics;
 
 /**
  * Represents a text element that can be drawn on a canvas.
  *
+ * <p>Setters skip all work when the value doesn't change, so the text can be set every frame.
+ * Texts that really change every frame (counters, timers, FPS) can be set from a reused {@link StringBuilder}
+ * with {@link #setText(CharSequence)}, which copies the characters and measures and draws them without allocating.
+ * Recording the text into a {@link DrawCommandBuffer} creates its string, once per change.</p>
+ *
  * @see Drawable
+ * @see TextMetrics
  */
-public class Text implements Drawable {
+public class Text implements Bounded, Recordable {
   protected int width;
   protected int height;
+  protected int ascent;
   protected Color color;
   protected Font font;
   protected int fontSize;
   protected String text;
+  protected char[] chars;
+  protected int length;
   protected int x;
   protected int y;
+  protected long version;
+  protected TextMetrics textMetrics;
 
    /**
    * Constructs a Text instance with the specified text content, font, and position.
@@ -48,7 +63,27 @@ public class Text implements Drawable {
    * @param fontSize The size of the text.
    */
   public Text(String text, int x, int y, Font font, Color color, int fontSize) {
-    this.font = font.deriveFont(Font.PLAIN, fontSize);
+    this(text, x, y, font, color, fontSize, TextMetrics.getDefault());
+  }
+
+  /**
+   * Constructs a Text instance measured with the specified service.
+   *
+   * <p>Other constructors use the default service shared by all texts ({@link TextMetrics#getDefault()}).</p>
+   *
+   * @param text The content of the text.
+   * @param x The x-coordinate of the text.
+   * @param y The y-coordinate of the text.
+   * @param font The font used for the text.
+   * @param color The color of the text.
+   * @param fontSize The size of the text.
+   * @param textMetrics The service measuring the text.
+   */
+  public Text(String text, int x, int y, Font font, Color color, int fontSize, TextMetrics textMetrics) {
+    this.textMetrics = textMetrics;
+    this.font = FontCache.getDefault().derive(font, Font.PLAIN, fontSize);
+    this.chars = new char[Math.max(16, text.length())];
+    this.copyText(text);
     this.text = text;
     this.x = x;
     this.y = y;
@@ -59,15 +94,12 @@ public class Text implements Drawable {
 
   /** Calculates the size (in pixels) of the text */
   protected void calculateSize() {
-    BufferedImage img = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
-    Graphics context = img.getGraphics();
+    FontMetrics metrics = textMetrics.getMetrics(font);
 
-    context.setFont(font);
-
-    FontMetrics metrics = context.getFontMetrics();
-
-    width = metrics.stringWidth(text);
+    width = text != null ? textMetrics.stringWidth(font, text) : textMetrics.charsWidth(font, chars, 0, length);
     height = metrics.getHeight();
+    ascent = metrics.getAscent();
+    version++;
   }
 
   /**
@@ -76,8 +108,12 @@ public class Text implements Drawable {
    * @param fontSize The new size of the font
    */
   public void setFontSize(int fontSize) {
+    if (this.fontSize == fontSize) {
+      return;
+    }
+
     this.fontSize = fontSize;
-    this.font = this.font.deriveFont(Font.PLAIN, fontSize);
+    this.font = FontCache.getDefault().derive(this.font, Font.PLAIN, fontSize);
     this.calculateSize();
   }
 
@@ -87,7 +123,11 @@ public class Text implements Drawable {
    * @param style The new font style.
    */
   public void setFontStyle(int style) {
-    this.font = this.font.deriveFont(style, fontSize);
+    if (this.font.getStyle() == style) {
+      return;
+    }
+
+    this.font = FontCache.getDefault().derive(this.font, style, fontSize);
     this.calculateSize();
   }
 
@@ -106,7 +146,12 @@ public class Text implements Drawable {
    * @param color The new color of the text.
    */
   public void setColor(Color color) {
+    if (color.equals(this.color)) {
+      return;
+    }
+
     this.color = color;
+    this.version++;
   }
 
   /**
@@ -124,16 +169,49 @@ public class Text implements Drawable {
    * @param text The new content of the text.
    */
   public void setText(String text) {
+    if (hasText(text)) {
+      return;
+    }
+
+    this.copyText(text);
     this.text = text;
     this.calculateSize();
   }
 
+  /**
+   * Sets the text content by copying the characters, e.g. from a {@link StringBuilder} reused every frame.
+   *
+   * <p>Unlike {@link #setText(String)}, it doesn't allocate: the characters are copied into the text's buffer,
+   * and measured and drawn from there. The string is created only if {@link #getText} is called,
+   * which {@code record} does once per change.</p>
+   *
+   * @param text The new content of the text.
+   */
+  public void setText(CharSequence text) {
+    if (text instanceof String string) {
+      setText(string);
+      return;
+    }
+
+    if (hasText(text)) {
+      return;
+    }
+
+    this.copyText(text);
+    this.text = null;
+    this.calculateSize();
+  }
+
   /**
    * Gets the text content.
    *
    * @return The content of the text.
    */
   public String getText() {
+    if (this.text == null) {
+      this.text = new String(chars, 0, length);
+    }
+
     return this.text;
   }
 
@@ -146,10 +224,67 @@ public class Text implements Drawable {
     return font.getFontName();
   }
 
+  @Override
+  public Rectangle getBounds() {
+    return new Rectangle(x, y, width, height);
+  }
+
+  @Override
+  public long getVersion() {
+    return version;
+  }
+
+  @Override
+  public void record(DrawCommandBuffer buffer, int layer) {
+    buffer.drawText(layer, getText(), x, y + ascent, font, color, false);
+  }
+
   @Override
   public void draw(Graphics2D context, Canvas canvas) {
     context.setFont(font);
     context.setColor(color);
-    context.drawString(text, x, y + context.getFontMetrics().getAscent());
+    context.drawChars(chars, 0, length, x, y + ascent);
+  }
+
+  /**
+   * Checks if the text has the same content as the characters.
+   *
+   * @param other The characters to compare.
+   * @return {@code true} if the content is the same, {@code false} otherwise.
+   */
+  private boolean hasText(CharSequence other) {
+    if (other.length() != length) {
+      return false;
+    }
+
+    for (int i = 0; i < length; i++) {
+      if (other.charAt(i) != chars[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Copies the characters into the buffer of the text, growing it if needed.
+   *
+   * @param source The characters to copy.
+   */
+  private void copyText(CharSequence source) {
+    length = source.length();
+
+    if (length > chars.length) {
+      chars = new char[Math.max(length, chars.length * 2)];
+    }
+
+    if (source instanceof String string) {
+      string.getChars(0, length, chars, 0);
+    }
+    else {
+      for (int i = 0; i < length; i++) {
+        chars[i] = source.charAt(i);
+      }
+    }
   }
 }
@@ -3,14 +3,16 @@ package xyz.magicjourney.odyssey.ui;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
-import java.awt.image.BufferedImage;
 
 import xyz.magicjourney.odyssey.collision.BoxCollider;
 import xyz.magicjourney.odyssey.input.InputManager;
 import xyz.magicjourney.odyssey.renderer.Canvas;
+import xyz.magicjourney.odyssey.renderer.DrawCommandBuffer;
+import xyz.magicjourney.odyssey.renderer.Recordable;
+import xyz.magicjourney.odyssey.renderer.text.FontCache;
+import xyz.magicjourney.odyssey.renderer.text.TextMetrics;
 
 /**
  * Represents a text element designed to function as a button with hover and click animations.
@@ -20,10 +22,12 @@ import xyz.magicjourney.odyssey.renderer.Canvas;
  * @see InputManager
  * @see Canvas
  */
-public class TextButton extends AbstractButton {
+public class TextButton extends AbstractButton implements Recordable {
   protected Font font;
   protected int fontSize;
   protected String text;
+  protected int ascent;
+  protected TextMetrics textMetrics;
 
   /**
    * Constructs a TextButton instance with the specified text, font, position, color, font size, and input manager.
@@ -50,27 +54,43 @@ public class TextButton extends AbstractButton {
    * @param inputManager The InputManager instance for handling user input.
    */
   public TextButton(String text, int x, int y, Font font, Color color, int fontSize, InputManager inputManager, Canvas canvas) {
+    this(text, x, y, font, color, fontSize, inputManager, canvas, TextMetrics.getDefault());
+  }
+
+  /**
+   * Constructs a TextButton instance measured with the specified service.
+   *
+   * <p>Other constructors use the default service shared by all texts ({@link TextMetrics#getDefault()}).</p>
+   *
+   * @param text The text content of the button.
+   * @param x The x-coordinate of the button.
+   * @param y The y-coordinate of the button.
+   * @param font The font used for the text.
+   * @param color The color of the button text.
+   * @param fontSize The font size of the button text.
+   * @param inputManager The InputManager instance for handling user input.
+   * @param textMetrics The service measuring the text.
+   */
+  public TextButton(String text, int x, int y, Font font, Color color, int fontSize, InputManager inputManager, Canvas canvas,
+      TextMetrics textMetrics) {
     super(x, y, 1, 1, color, inputManager, canvas);
 
-    this.font = font.deriveFont(Font.PLAIN, fontSize);
+    this.textMetrics = textMetrics;
+    this.font = FontCache.getDefault().derive(font, Font.PLAIN, fontSize);
     this.text = text;
-    this.color = color;
     this.fontSize = fontSize;
     this.calculateSize();
   }
 
   /** Calculates the size (in pixels) of the text */
   protected void calculateSize() {
-    BufferedImage img = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
-    Graphics g = img.getGraphics();
-    
-    g.setFont(font);
-    
-    FontMetrics metrics = g.getFontMetrics();
-
-    width = metrics.stringWidth(text);
+    FontMetrics metrics = textMetrics.getMetrics(font);
+
+    width = textMetrics.stringWidth(font, text);
     height = metrics.getHeight();
+    ascent = metrics.getAscent();
     this.collider = new BoxCollider(x, y, width, height);
+    this.version++;
   }
 
   /**
@@ -79,7 +99,11 @@ public class TextButton extends AbstractButton {
    * @param style The new font style.
    */
   public void setFontStyle(int style) {
-    this.font = this.font.deriveFont(style, fontSize);
+    if (this.font.getStyle() == style) {
+      return;
+    }
+
+    this.font = FontCache.getDefault().derive(this.font, style, fontSize);
     this.calculateSize();
   }
   
@@ -98,7 +122,13 @@ public class TextButton extends AbstractButton {
    * @param color The new color of the text.
    */
   public void setColor(Color color) {
+    if (color.equals(this.color)) {
+      return;
+    }
+
     this.color = color;
+    this.updateStateColors();
+    this.version++;
   }
 
   /**
@@ -116,6 +146,10 @@ public class TextButton extends AbstractButton {
    * @param text The new button text.
    */
   public void setText(String text) {
+    if (text.equals(this.text)) {
+      return;
+    }
+
     this.text = text;
     this.calculateSize();
   }
@@ -138,6 +172,11 @@ public class TextButton extends AbstractButton {
     return font.getFontName();
   }
 
+  @Override
+  public void record(DrawCommandBuffer buffer, int layer) {
+    buffer.drawText(layer, text, x, y + ascent, font, getStateColor(), true);
+  }
+
   @Override
   public void draw(Graphics2D context, Canvas canvas) {
     context.setFont(font);
@@ -145,6 +184,6 @@ public class TextButton extends AbstractButton {
     super.draw(context, canvas);
 
     context.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-    context.drawString(text, x, y + context.getFontMetrics().getAscent());
+    context.drawString(text, x, y + ascent);
   }
 }